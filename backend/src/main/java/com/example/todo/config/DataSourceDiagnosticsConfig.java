@@ -0,0 +1,36 @@
+package com.example.todo.config;
+
+import com.example.todo.diagnostics.ConnectionUsageMetricsTrackerFactory;
+import com.example.todo.diagnostics.ConnectionUsageRecorder;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceDiagnosticsConfig {
+    
+    /**
+     * プール起動前にメトリクストラッカーを設定する。
+     * 設定済みの場合Spring BootはHikariCPのメトリクスを登録しないため、hikaricp.* はこちらから委譲して記録する。
+     */
+    @Bean
+    public static BeanPostProcessor hikariMetricsTrackerPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                     ObjectProvider<ConnectionUsageRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null
+                        && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory((poolName, poolStats) -> new ConnectionUsageMetricsTrackerFactory(
+                            new MicrometerMetricsTrackerFactory(meterRegistry.getObject()), recorder.getObject())
+                            .create(poolName, poolStats));
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
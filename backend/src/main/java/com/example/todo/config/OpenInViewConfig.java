@@ -0,0 +1,35 @@
+package com.example.todo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open Session in ViewをSpring Bootの自動設定に代えて登録し、一括取り込みのアップロードだけを対象外にする。
+ * 対象にするとアップロードを読み終えるまでの間、最初のクエリで取得した接続が保持され続けるため。
+ * このBeanがあるとSpring Boot側のインターセプターは登録されない。
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.open-in-view", havingValue = "true", matchIfMissing = true)
+public class OpenInViewConfig {
+    
+    private static final String IMPORT_PATH = "/api/todos/import";
+    
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+    
+    @Bean
+    public WebMvcConfigurer openEntityManagerInViewConfigurer(OpenEntityManagerInViewInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor).excludePathPatterns(IMPORT_PATH);
+            }
+        };
+    }
+}
\ No newline at end of file
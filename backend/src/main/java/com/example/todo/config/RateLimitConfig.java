@@ -0,0 +1,110 @@
+package com.example.todo.config;
+
+import com.example.todo.filter.AdmissionController;
+import com.example.todo.filter.ClientRateLimiter;
+import com.example.todo.filter.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "todo.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${todo.rate-limit.api-key-header:X-API-Key}")
+    private String apiKeyHeader;
+    
+    @Value("${todo.rate-limit.api-keys:}")
+    private String apiKeys;
+    
+    @Value("${todo.rate-limit.max-clients:10000}")
+    private int maxClients;
+    
+    @Value("${todo.rate-limit.idle-timeout:PT10M}")
+    private Duration idleTimeout;
+    
+    @Value("${todo.rate-limit.read.capacity:100}")
+    private long readCapacity;
+    
+    @Value("${todo.rate-limit.read.refill-per-second:50}")
+    private double readRefillPerSecond;
+    
+    @Value("${todo.rate-limit.write.capacity:20}")
+    private long writeCapacity;
+    
+    @Value("${todo.rate-limit.write.refill-per-second:5}")
+    private double writeRefillPerSecond;
+    
+    @Value("${todo.rate-limit.admission.max-concurrent:50}")
+    private int maxConcurrent;
+    
+    @Value("${todo.rate-limit.admission.overloaded-fraction:0.25}")
+    private double overloadedFraction;
+    
+    @Value("${todo.rate-limit.admission.max-pool-wait:PT0.1S}")
+    private Duration maxPoolWait;
+    
+    @Value("${todo.rate-limit.admission.max-sample-age:PT5S}")
+    private Duration maxSampleAge;
+    
+    @Value("${todo.rate-limit.admission.retry-after:PT1S}")
+    private Duration sheddingRetryAfter;
+    
+    @Bean
+    public ClientRateLimiter readRateLimiter() {
+        return new ClientRateLimiter(readCapacity, readRefillPerSecond, maxClients, idleTimeout);
+    }
+    
+    @Bean
+    public ClientRateLimiter writeRateLimiter() {
+        return new ClientRateLimiter(writeCapacity, writeRefillPerSecond, maxClients, idleTimeout);
+    }
+    
+    @Bean
+    public AdmissionController admissionController() {
+        return new AdmissionController(maxConcurrent, overloadedFraction,
+                maxPoolWait.toNanos(), maxSampleAge.toNanos(), TimeUnit.NANOSECONDS);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter() {
+        RateLimitFilter filter = new RateLimitFilter(readRateLimiter(), writeRateLimiter(), admissionController(),
+                apiKeyHeader, Set.copyOf(Arrays.asList(StringUtils.tokenizeToStringArray(apiKeys, ","))),
+                Math.max(1, sheddingRetryAfter.toSeconds()), meterRegistry);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+    
+    @Scheduled(fixedDelayString = "${todo.rate-limit.admission.sample-interval:PT1S}")
+    public void samplePoolWait() {
+        // HikariCPのメトリクスから直近のコネクション取得待ち時間を反映する
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            admissionController().recordPoolWait((long) acquire.totalTime(TimeUnit.NANOSECONDS), acquire.count());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${todo.rate-limit.sweep-interval:PT1M}")
+    public void evictIdleClients() {
+        readRateLimiter().evictIdle();
+        writeRateLimiter().evictIdle();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.todo.controller;
 
+import com.example.todo.exception.TodoConflictException;
 import com.example.todo.model.Todo;
 import com.example.todo.service.TodoService;
 import jakarta.validation.Valid;
@@ -24,10 +25,18 @@ public class TodoController {
     
     @GetMapping
     public ResponseEntity<List<Todo>> getAllTodos(
-            @RequestParam(required = false) Boolean completed) {
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
         List<Todo> todos;
         
-        if (completed != null) {
+        // アーカイブは増え続けるため、含める場合はページ単位で返す
+        if (includeArchived) {
+            todos = completed != null
+                    ? todoService.getTodosByCompletedIncludingArchived(completed, page, size)
+                    : todoService.getAllTodosIncludingArchived(page, size);
+        } else if (completed != null) {
             todos = todoService.getTodosByCompleted(completed);
         } else {
             todos = todoService.getAllTodos();
@@ -75,4 +84,15 @@ public class TodoController {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    // ページ指定が範囲外の場合
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+    
+    @ExceptionHandler(TodoConflictException.class)
+    public ResponseEntity<Todo> handleConflict(TodoConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getCurrent());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.ImportJobDto;
+import com.example.todo.exception.ImportJobRunningException;
+import com.example.todo.model.ImportFormat;
+import com.example.todo.service.TodoImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/todos/import")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TodoImportController {
+    
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    
+    // UUIDなどクライアントが生成した冪等キー（import_job.id の長さまで）
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9_-]{1,36}");
+    
+    private final TodoImportService todoImportService;
+    
+    @Autowired
+    public TodoImportController(TodoImportService todoImportService) {
+        this.todoImportService = todoImportService;
+    }
+    
+    // リクエストボディはInputStreamのまま読み進め、全体をバッファしない。
+    // jobIdを指定した場合は、そのIDのジョブを作成または再開する
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportJobDto> importTodos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) String jobId,
+            InputStream body) throws IOException {
+        if (jobId != null && !JOB_ID.matcher(jobId).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ImportFormat format = TEXT_CSV.includes(MediaType.parseMediaType(contentType)) ? ImportFormat.CSV : ImportFormat.NDJSON;
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(todoImportService.startImport(jobId, format, body));
+    }
+    
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable String jobId) {
+        return todoImportService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @ExceptionHandler(ImportJobRunningException.class)
+    public ResponseEntity<Void> handleRunning(ImportJobRunningException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.todo.diagnostics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.IMetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * HikariCPのメトリクス記録をフックし、既存のトラッカー（Micrometer）に委譲しつつ
+ * ConnectionUsageRecorderにも記録する。
+ */
+public class ConnectionUsageMetricsTrackerFactory implements IMetricsTrackerFactory {
+    
+    private final IMetricsTrackerFactory delegate;
+    private final ConnectionUsageRecorder recorder;
+    
+    public ConnectionUsageMetricsTrackerFactory(IMetricsTrackerFactory delegate, ConnectionUsageRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+    
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker tracker = delegate.create(poolName, poolStats);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+            
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                recorder.recordAcquire(elapsedAcquiredNanos);
+            }
+            
+            // 取得したスレッドで返却されるため、取得時に記録したメソッドに保持時間を紐付けられる
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                recorder.recordUsage(elapsedBorrowedMillis);
+            }
+            
+            @Override
+            public void recordConnectionTimeout() {
+                tracker.recordConnectionTimeout();
+            }
+            
+            @Override
+            public void close() {
+                tracker.close();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.example.todo.diagnostics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * コネクションの取得待ち時間のヒストグラムと、TodoServiceのメソッドごとのコネクション保持時間を集計する。
+ */
+@Component
+public class ConnectionUsageRecorder {
+    
+    // ヒストグラムのバケット上限（ミリ秒）。最後のバケットはそれ以上すべて
+    static final long[] ACQUIRE_BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+    
+    // メソッド外で取得されたコネクションの目印
+    private static final String UNATTRIBUTED = "";
+    
+    private final ThreadLocal<String> currentMethod = new ThreadLocal<>();
+    // 取得時点のメソッド名を借用中のコネクションごとに積む（返却はOSIVなどでメソッド終了後になりうる）
+    private final ThreadLocal<Deque<String>> borrowedBy = ThreadLocal.withInitial(ArrayDeque::new);
+    private final LongAdder[] acquireBuckets = new LongAdder[ACQUIRE_BUCKET_BOUNDS_MILLIS.length + 1];
+    private final ConcurrentMap<String, MethodUsage> usageByMethod = new ConcurrentHashMap<>();
+    
+    public ConnectionUsageRecorder() {
+        for (int i = 0; i < acquireBuckets.length; i++) {
+            acquireBuckets[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * 現在のスレッドで実行中のメソッド名を設定し、直前の値を返す。
+     */
+    public String enterMethod(String method) {
+        String previous = currentMethod.get();
+        currentMethod.set(method);
+        return previous;
+    }
+    
+    public void exitMethod(String previous) {
+        if (previous == null) {
+            currentMethod.remove();
+        } else {
+            currentMethod.set(previous);
+        }
+    }
+    
+    public void recordAcquire(long elapsedNanos) {
+        String method = currentMethod.get();
+        borrowedBy.get().push(method != null ? method : UNATTRIBUTED);
+        
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = 0;
+        while (bucket < ACQUIRE_BUCKET_BOUNDS_MILLIS.length && millis > ACQUIRE_BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        acquireBuckets[bucket].increment();
+    }
+    
+    /**
+     * 返却時に呼ばれ、保持時間を取得時点で実行中だったメソッドに紐付ける。
+     */
+    public void recordUsage(long elapsedMillis) {
+        Deque<String> borrowed = borrowedBy.get();
+        String method = borrowed.poll();
+        if (borrowed.isEmpty()) {
+            borrowedBy.remove();
+        }
+        if (method == null || method.equals(UNATTRIBUTED)) {
+            return;
+        }
+        usageByMethod.computeIfAbsent(method, key -> new MethodUsage()).record(elapsedMillis);
+    }
+    
+    public Map<String, Long> acquireHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < ACQUIRE_BUCKET_BOUNDS_MILLIS.length; i++) {
+            histogram.put("le_" + ACQUIRE_BUCKET_BOUNDS_MILLIS[i] + "ms", acquireBuckets[i].sum());
+        }
+        histogram.put("gt_" + ACQUIRE_BUCKET_BOUNDS_MILLIS[ACQUIRE_BUCKET_BOUNDS_MILLIS.length - 1] + "ms",
+                acquireBuckets[ACQUIRE_BUCKET_BOUNDS_MILLIS.length].sum());
+        return histogram;
+    }
+    
+    /**
+     * 最大保持時間の長い順にメソッドごとの集計を返す。
+     */
+    public List<Map<String, Object>> topMethodsByHoldTime(int limit) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        usageByMethod.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, MethodUsage> entry) -> entry.getValue().max.get()).reversed())
+                .limit(limit)
+                .forEach(entry -> {
+                    MethodUsage usage = entry.getValue();
+                    long count = usage.count.sum();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("method", entry.getKey());
+                    row.put("count", count);
+                    row.put("maxMillis", usage.max.get());
+                    row.put("avgMillis", count == 0 ? 0.0 : (double) usage.totalMillis.sum() / count);
+                    result.add(row);
+                });
+        return result;
+    }
+    
+    private static class MethodUsage {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        
+        void record(long elapsedMillis) {
+            count.increment();
+            totalMillis.add(elapsedMillis);
+            max.accumulate(elapsedMillis);
+        }
+    }
+}
\ No newline at end of file
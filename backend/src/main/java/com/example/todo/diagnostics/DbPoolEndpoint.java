@@ -0,0 +1,51 @@
+package com.example.todo.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/dbpool でコネクションプールの飽和状況を返す。
+ */
+@Component
+@Endpoint(id = "dbpool")
+public class DbPoolEndpoint {
+    
+    private static final int TOP_METHODS = 10;
+    
+    private final DataSource dataSource;
+    private final ConnectionUsageRecorder recorder;
+    
+    public DbPoolEndpoint(DataSource dataSource, ConnectionUsageRecorder recorder) {
+        this.dataSource = dataSource;
+        this.recorder = recorder;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> dbPool() throws SQLException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        result.put("poolName", hikari.getPoolName());
+        result.put("maximumPoolSize", hikari.getMaximumPoolSize());
+        result.put("minimumIdle", hikari.getMinimumIdle());
+        
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            result.put("active", pool.getActiveConnections());
+            result.put("idle", pool.getIdleConnections());
+            result.put("waiting", pool.getThreadsAwaitingConnection());
+            result.put("total", pool.getTotalConnections());
+        }
+        
+        result.put("acquireTimeHistogram", recorder.acquireHistogram());
+        result.put("longestHoldingMethods", recorder.topMethodsByHoldTime(TOP_METHODS));
+        return result;
+    }
+}
\ No newline at end of file
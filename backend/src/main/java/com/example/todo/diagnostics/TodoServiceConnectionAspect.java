@@ -0,0 +1,30 @@
+package com.example.todo.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TodoServiceConnectionAspect {
+    
+    private final ConnectionUsageRecorder recorder;
+    
+    public TodoServiceConnectionAspect(ConnectionUsageRecorder recorder) {
+        this.recorder = recorder;
+    }
+    
+    @Around("execution(public * com.example.todo.service.TodoService.*(..))")
+    public Object trackMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = recorder.enterMethod("TodoService." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            recorder.exitMethod(previous);
+        }
+    }
+}
\ No newline at end of file
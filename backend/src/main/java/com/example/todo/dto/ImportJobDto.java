@@ -0,0 +1,41 @@
+package com.example.todo.dto;
+
+import com.example.todo.model.ImportFormat;
+import com.example.todo.model.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobDto {
+    
+    private String id;
+    
+    private ImportFormat format;
+    
+    private ImportJobStatus status;
+    
+    private long totalRows;
+    
+    private long importedRows;
+    
+    private long failedRows;
+    
+    private String message;
+    
+    private List<RowError> errors;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.todo.exception;
+
+/**
+ * 再開しようとした取り込みジョブが実行中であることを表す。
+ */
+public class ImportJobRunningException extends RuntimeException {
+    
+    public ImportJobRunningException(String jobId) {
+        super("Import job " + jobId + " is already running");
+    }
+}
\ No newline at end of file
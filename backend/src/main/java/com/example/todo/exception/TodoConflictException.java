@@ -0,0 +1,20 @@
+package com.example.todo.exception;
+
+import com.example.todo.model.Todo;
+
+/**
+ * 楽観ロックの競合により更新できなかったことを表す。最新の状態を保持する。
+ */
+public class TodoConflictException extends RuntimeException {
+    
+    private final Todo current;
+    
+    public TodoConflictException(Todo current, Throwable cause) {
+        super("Todo " + current.getId() + " was modified concurrently", cause);
+        this.current = current;
+    }
+    
+    public Todo getCurrent() {
+        return current;
+    }
+}
\ No newline at end of file
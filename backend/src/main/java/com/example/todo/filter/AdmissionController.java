@@ -0,0 +1,83 @@
+package com.example.todo.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 同時実行数の上限と、DBコネクションプールの待ち時間に基づいてリクエストの受け入れを判断する。
+ * 取得待ちが閾値を超えている間は全面的に遮断せず、同時実行数の上限を overloadedConcurrent まで下げる。
+ */
+public class AdmissionController {
+    
+    private final int maxConcurrent;
+    private final int overloadedConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final long maxPoolWaitNanos;
+    private final long maxSampleAgeNanos;
+    private final LongSupplier nanoTime;
+    
+    private volatile boolean overloaded;
+    private volatile long sampledAt;
+    private long lastTotalNanos;
+    private long lastCount;
+    
+    /**
+     * @param overloadedFraction 過負荷時に受け入れる同時実行数の maxConcurrent に対する割合（最低1）
+     */
+    public AdmissionController(int maxConcurrent, double overloadedFraction,
+                               long maxPoolWait, long maxSampleAge, TimeUnit unit) {
+        this(maxConcurrent, overloadedFraction, maxPoolWait, maxSampleAge, unit, System::nanoTime);
+    }
+    
+    AdmissionController(int maxConcurrent, double overloadedFraction,
+                        long maxPoolWait, long maxSampleAge, TimeUnit unit, LongSupplier nanoTime) {
+        this.maxConcurrent = maxConcurrent;
+        this.overloadedConcurrent = Math.max(1, Math.min(maxConcurrent, (int) (maxConcurrent * overloadedFraction)));
+        this.maxPoolWaitNanos = unit.toNanos(maxPoolWait);
+        this.maxSampleAgeNanos = unit.toNanos(maxSampleAge);
+        this.nanoTime = nanoTime;
+        this.sampledAt = nanoTime.getAsLong();
+    }
+    
+    public boolean tryAcquire() {
+        int limit = isOverloaded() ? overloadedConcurrent : maxConcurrent;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+    
+    /**
+     * 計測が途絶えた場合（スケジューラーの遅延など）は、古い過負荷判定で遮断し続けないよう受け入れる。
+     */
+    public boolean isOverloaded() {
+        return overloaded && nanoTime.getAsLong() - sampledAt <= maxSampleAgeNanos;
+    }
+    
+    /**
+     * コネクション取得時間の累積値を受け取り、前回からの平均待ち時間が閾値を超えていれば過負荷と判断する。
+     */
+    public synchronized void recordPoolWait(long totalWaitNanos, long acquireCount) {
+        long count = acquireCount - lastCount;
+        long total = totalWaitNanos - lastTotalNanos;
+        lastCount = acquireCount;
+        lastTotalNanos = totalWaitNanos;
+        sampledAt = nanoTime.getAsLong();
+        
+        if (count <= 0) {
+            overloaded = false;
+            return;
+        }
+        overloaded = total / count > maxPoolWaitNanos;
+    }
+}
\ No newline at end of file
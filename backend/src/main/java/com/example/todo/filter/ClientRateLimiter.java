@@ -0,0 +1,111 @@
+package com.example.todo.filter;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * クライアントごとのトークンバケットを保持する。
+ * 保持するクライアント数は maxClients で上限を設け、超えた場合はCLOCK方式（近似LRU）で
+ * 最近アクセスのないクライアントのバケットを1つ破棄する。
+ */
+public class ClientRateLimiter {
+    
+    // 参照ビットを落としながら周回する回数の上限（リクエストスレッドでの処理量を抑える）
+    private static final int MAX_EVICTION_PROBES = 64;
+    
+    private final long capacity;
+    private final double refillPerSecond;
+    private final int maxClients;
+    private final long idleNanos;
+    private final LongSupplier nanoTime;
+    
+    private final ConcurrentMap<String, Entry> buckets = new ConcurrentHashMap<>();
+    private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+    
+    public ClientRateLimiter(long capacity, double refillPerSecond, int maxClients, Duration idleTimeout) {
+        this(capacity, refillPerSecond, maxClients, idleTimeout, System::nanoTime);
+    }
+    
+    ClientRateLimiter(long capacity, double refillPerSecond, int maxClients, Duration idleTimeout, LongSupplier nanoTime) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxClients = maxClients;
+        this.idleNanos = idleTimeout.toNanos();
+        this.nanoTime = nanoTime;
+    }
+    
+    /**
+     * @return 許可された場合は0、拒否された場合は再試行可能になるまでのナノ秒
+     */
+    public long tryAcquire(String clientKey) {
+        long now = nanoTime.getAsLong();
+        Entry entry = buckets.get(clientKey);
+        if (entry != null) {
+            entry.referenced = true;
+        } else {
+            Entry created = new Entry(clientKey, new TokenBucket(capacity, refillPerSecond, now));
+            entry = buckets.putIfAbsent(clientKey, created);
+            if (entry == null) {
+                entry = created;
+                clock.offer(created);
+                if (buckets.size() > maxClients) {
+                    evictOne();
+                }
+            }
+        }
+        return entry.bucket.tryConsume(now);
+    }
+    
+    /**
+     * 満タンのまま一定時間アクセスのないバケットを破棄する。
+     * 満タンのバケットは新規作成したものと同じなので、破棄しても制限の結果は変わらない。
+     * 全件を走査するため、リクエストスレッドではなく定期実行から呼び出す。
+     */
+    public void evictIdle() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(entry -> entry.bucket.isIdle(now, idleNanos));
+        clock.removeIf(entry -> buckets.get(entry.key) != entry);
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+    
+    // 参照ビットが立っていれば落として末尾へ戻し、立っていないものを破棄する
+    private void evictOne() {
+        for (int probes = 0; probes < MAX_EVICTION_PROBES; probes++) {
+            Entry candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            if (buckets.get(candidate.key) != candidate) {
+                // アイドル破棄などで既にマップから外れている
+                continue;
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.offer(candidate);
+                continue;
+            }
+            if (buckets.remove(candidate.key, candidate)) {
+                return;
+            }
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final String key;
+        private final TokenBucket bucket;
+        private volatile boolean referenced;
+        
+        private Entry(String key, TokenBucket bucket) {
+            this.key = key;
+            this.bucket = bucket;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.example.todo.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    
+    private final ClientRateLimiter readLimiter;
+    private final ClientRateLimiter writeLimiter;
+    private final AdmissionController admissionController;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final long sheddingRetryAfterSeconds;
+    private final Counter rateLimitedCounter;
+    private final Counter shedCounter;
+    
+    public RateLimitFilter(ClientRateLimiter readLimiter,
+                           ClientRateLimiter writeLimiter,
+                           AdmissionController admissionController,
+                           String apiKeyHeader,
+                           Set<String> apiKeys,
+                           long sheddingRetryAfterSeconds,
+                           MeterRegistry meterRegistry) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.admissionController = admissionController;
+        this.apiKeyHeader = apiKeyHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.sheddingRetryAfterSeconds = sheddingRetryAfterSeconds;
+        this.rateLimitedCounter = Counter.builder("todo.rate-limit.rejected")
+                .tag("reason", "rate_limited")
+                .description("Requests rejected with 429 by the per-client rate limit")
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("todo.rate-limit.rejected")
+                .tag("reason", "shed")
+                .description("Requests rejected with 503 by admission control")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientKey = resolveClientKey(request);
+        ClientRateLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        
+        long waitNanos = limiter.tryAcquire(clientKey);
+        if (waitNanos > 0) {
+            rateLimitedCounter.increment();
+            logger.debug("Rate limit exceeded for client {}", clientKey);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos));
+            return;
+        }
+        
+        if (!admissionController.tryAcquire()) {
+            // 過負荷時にリクエストごとのログ出力でI/Oを増やさないよう、件数はメトリクスで確認する
+            shedCounter.increment();
+            logger.debug("Shedding request {} {} from client {}", request.getMethod(), request.getRequestURI(), clientKey);
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, sheddingRetryAfterSeconds);
+            return;
+        }
+        
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionController.release();
+        }
+    }
+    
+    // server.tomcat.remoteip.remote-ip-header設定によりgetRemoteAddr()はx-forwarded-forから解決されたIPを返す。
+    // APIキーは登録済みのものだけを識別に使い、任意の値で制限を回避したりバケットを溢れさせたりできないようにする
+    private String resolveClientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (StringUtils.hasText(apiKey) && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+    
+    private long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.todo.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CASで状態を更新するロックフリーなトークンバケット。
+ */
+public class TokenBucket {
+    
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+    
+    /**
+     * トークンを1つ消費する。
+     *
+     * @return 消費できた場合は0、できなかった場合は次のトークンが補充されるまでのナノ秒
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.refilledAt())))) {
+                return 0;
+            }
+        }
+    }
+    
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        State current = state.get();
+        return nowNanos - current.refilledAt() >= idleNanos && refill(current, nowNanos) >= capacity;
+    }
+    
+    private double refill(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.refilledAt());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+    
+    private record State(double tokens, long refilledAt) {
+    }
+}
\ No newline at end of file
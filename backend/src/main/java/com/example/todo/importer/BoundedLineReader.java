@@ -0,0 +1,86 @@
+package com.example.todo.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 長さに上限を設けて1行ずつ読む。上限を超えた行は残りを読み捨て、メモリに載せない。
+ * 改行は \n、\r\n、\r のいずれも行末として扱う（BufferedReader#readLine と同じ）。
+ */
+class BoundedLineReader implements Closeable {
+    
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean skipLf;
+    private boolean tooLong;
+    
+    BoundedLineReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * @param maxChars この行に許す最大文字数
+     * @return 次の行（改行は含まない）。終端に達した場合はnull。
+     *         上限を超えた場合は行末まで読み捨てて空文字を返し、{@link #isTooLong()} がtrueになる
+     */
+    String readLine(int maxChars) throws IOException {
+        tooLong = false;
+        StringBuilder line = new StringBuilder();
+        boolean read = false;
+        while (true) {
+            if (position >= limit && !fill()) {
+                return read ? result(line) : null;
+            }
+            char c = buffer[position++];
+            if (skipLf) {
+                skipLf = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            read = true;
+            if (c == '\n') {
+                return result(line);
+            }
+            if (c == '\r') {
+                skipLf = true;
+                return result(line);
+            }
+            if (tooLong) {
+                continue;
+            }
+            if (line.length() >= maxChars) {
+                tooLong = true;
+                line.setLength(0);
+            } else {
+                line.append(c);
+            }
+        }
+    }
+    
+    /**
+     * 直前に読んだ行が上限を超えていたか。
+     */
+    boolean isTooLong() {
+        return tooLong;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private boolean fill() throws IOException {
+        int count = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+    
+    private String result(StringBuilder line) {
+        return tooLong ? "" : line.toString();
+    }
+}
\ No newline at end of file
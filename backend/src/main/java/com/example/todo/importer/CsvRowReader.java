@@ -0,0 +1,161 @@
+package com.example.todo.importer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180形式のCSVを読む。1行目はヘッダーとし、title, description, completed の列を名前で参照する。
+ * 1レコードの文字数には上限を設け、閉じられていない引用符などで上限を超えた場合は
+ * そのレコードをエラーとして次の行から読み直す。
+ */
+public class CsvRowReader implements RowReader {
+    
+    private final BoundedLineReader reader;
+    private final int maxRecordChars;
+    private long lineNumber;
+    // 直前に読んだレコードの解析エラー
+    private String recordError;
+    private int titleColumn = -1;
+    private int descriptionColumn = -1;
+    private int completedColumn = -1;
+    private boolean headerRead;
+    
+    CsvRowReader(BoundedLineReader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+    
+    @Override
+    public ImportRow next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+        
+        List<String> fields;
+        long startLine;
+        do {
+            startLine = lineNumber + 1;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (recordError == null && fields.size() == 1 && fields.get(0).isEmpty());
+        
+        if (recordError != null) {
+            return ImportRow.invalid(startLine, recordError);
+        }
+        if (titleColumn < 0) {
+            return ImportRow.invalid(startLine, "Header has no title column");
+        }
+        String completed = field(fields, completedColumn);
+        if (completed != null && !completed.isBlank()
+                && !completed.equalsIgnoreCase("true") && !completed.equalsIgnoreCase("false")) {
+            return ImportRow.invalid(startLine, "completed must be true or false");
+        }
+        return new ImportRow(startLine,
+                field(fields, titleColumn),
+                field(fields, descriptionColumn),
+                Boolean.parseBoolean(completed),
+                null);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private void readHeader() throws IOException {
+        headerRead = true;
+        List<String> header = readRecord();
+        if (header == null || recordError != null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT)) {
+                case "title" -> titleColumn = i;
+                case "description" -> descriptionColumn = i;
+                case "completed" -> completedColumn = i;
+                default -> {
+                }
+            }
+        }
+    }
+    
+    private String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+    
+    /**
+     * 1レコードを読む。引用符内の改行を含む場合は複数行にまたがる。
+     * 上限を超えた場合や引用符が閉じられないまま終端に達した場合は recordError を設定する。
+     */
+    private List<String> readRecord() throws IOException {
+        recordError = null;
+        String line = reader.readLine(maxRecordChars);
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        if (reader.isTooLong()) {
+            return tooLong();
+        }
+        int remaining = maxRecordChars - line.length();
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i >= line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // 改行1文字分を含めて残りの上限内で続きの行を読む
+                String continuation = reader.readLine(Math.max(remaining - 1, 0));
+                if (continuation == null) {
+                    recordError = "Unclosed quote";
+                    return List.of();
+                }
+                lineNumber++;
+                if (reader.isTooLong()) {
+                    return tooLong();
+                }
+                remaining -= continuation.length() + 1;
+                field.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+            i++;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private List<String> tooLong() {
+        recordError = "Record exceeds " + maxRecordChars + " characters";
+        return List.of();
+    }
+}
\ No newline at end of file
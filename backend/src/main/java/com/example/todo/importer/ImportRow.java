@@ -0,0 +1,22 @@
+package com.example.todo.importer;
+
+/**
+ * 取り込み対象の1行。行として解釈できなかった場合は parseError に理由を持つ。
+ */
+public record ImportRow(long lineNumber, String title, String description, boolean completed, String parseError) {
+    
+    public static ImportRow invalid(long lineNumber, String parseError) {
+        return new ImportRow(lineNumber, null, null, false, parseError);
+    }
+    
+    /**
+     * 保持している文字数。書き込みを待つ間に使うメモリの目安にする。
+     */
+    public int chars() {
+        return length(title) + length(description) + length(parseError);
+    }
+    
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
\ No newline at end of file
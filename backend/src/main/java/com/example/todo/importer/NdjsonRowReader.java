@@ -0,0 +1,63 @@
+package com.example.todo.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * 1行に1つのJSONオブジェクト（title, description, completed）を持つNDJSONを読む。
+ */
+public class NdjsonRowReader implements RowReader {
+    
+    private final BoundedLineReader reader;
+    private final ObjectMapper objectMapper;
+    private final int maxLineChars;
+    private long lineNumber;
+    
+    NdjsonRowReader(BoundedLineReader reader, ObjectMapper objectMapper, int maxLineChars) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.maxLineChars = maxLineChars;
+    }
+    
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine(maxLineChars);
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank() && !reader.isTooLong());
+        
+        if (reader.isTooLong()) {
+            return ImportRow.invalid(lineNumber, "Line exceeds " + maxLineChars + " characters");
+        }
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return ImportRow.invalid(lineNumber, "Line is not a JSON object");
+            }
+            // CSVと同様、真偽値以外のcompletedは黙って変換せず行エラーにする
+            JsonNode completed = node.path("completed");
+            if (!completed.isMissingNode() && !completed.isNull() && !completed.isBoolean()) {
+                return ImportRow.invalid(lineNumber, "completed must be true or false");
+            }
+            return new ImportRow(lineNumber,
+                    node.hasNonNull("title") ? node.get("title").asText() : null,
+                    node.hasNonNull("description") ? node.get("description").asText() : null,
+                    completed.booleanValue(),
+                    null);
+        } catch (JsonProcessingException e) {
+            return ImportRow.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.todo.importer;
+
+import com.example.todo.model.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * アップロードを1行ずつ読み出す。全体をメモリに載せないよう、呼び出しごとに次の行だけを解析する。
+ */
+public interface RowReader extends Closeable {
+    
+    /**
+     * @return 次の行。終端に達した場合はnull
+     */
+    ImportRow next() throws IOException;
+    
+    /**
+     * @param maxRecordChars 1レコード（NDJSONでは1行）の最大文字数。超えたレコードは解析エラーとして読み飛ばす
+     */
+    static RowReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper, int maxRecordChars)
+            throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> new CsvRowReader(reader, maxRecordChars);
+            case NDJSON -> new NdjsonRowReader(reader, objectMapper, maxRecordChars);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.example.todo.model;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
\ No newline at end of file
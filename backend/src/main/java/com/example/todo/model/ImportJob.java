@@ -0,0 +1,58 @@
+package com.example.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJob {
+    
+    @Id
+    private String id;
+    
+    // MySQLのENUM型ではなくVARCHAR列として扱う
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private ImportFormat format;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private ImportJobStatus status;
+    
+    @Column(name = "chunk_size")
+    private int chunkSize;
+    
+    // チャンクに含める文字数の目安。超えた時点で行数に達していなくても区切る（0は区切らない）
+    @Column(name = "chunk_chars")
+    private int chunkChars;
+    
+    @Column(name = "total_rows")
+    private long totalRows;
+    
+    @Column(name = "imported_rows")
+    private long importedRows;
+    
+    @Column(name = "failed_rows")
+    private long failedRows;
+    
+    private String message;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
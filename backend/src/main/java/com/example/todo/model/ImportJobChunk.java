@@ -0,0 +1,48 @@
+package com.example.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 取り込みが完了したチャンク。Todoの挿入と同じトランザクションで記録し、再開時にスキップする。
+ */
+@Entity
+@Table(name = "import_job_chunk")
+@IdClass(ImportJobChunk.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobChunk {
+    
+    @Id
+    @Column(name = "job_id")
+    private String jobId;
+    
+    @Id
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+    
+    @Column(name = "imported_rows")
+    private int importedRows;
+    
+    @Column(name = "failed_rows")
+    private int failedRows;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobId;
+        private int chunkIndex;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "import_job_error")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobError {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id")
+    private String jobId;
+    
+    @Column(name = "line_number")
+    private long lineNumber;
+    
+    private String message;
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.todo.model;
+
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.example.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "todo_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoArchive {
+    
+    // 移動元のtodo.idをそのまま保持する
+    @Id
+    private Long id;
+    
+    private String title;
+    
+    private String description;
+    
+    private boolean completed;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    public Todo toTodo() {
+        return Todo.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .completed(completed)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
\ No newline at end of file
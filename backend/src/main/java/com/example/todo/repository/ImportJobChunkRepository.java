@@ -0,0 +1,31 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.ImportJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Repository
+public interface ImportJobChunkRepository extends JpaRepository<ImportJobChunk, ImportJobChunk.Key> {
+    
+    @Query("SELECT c.chunkIndex FROM ImportJobChunk c WHERE c.jobId = :jobId")
+    Set<Integer> findCompletedChunkIndexes(@Param("jobId") String jobId);
+    
+    /**
+     * 完了したチャンクを記録する。save() と違い既存の行を上書きせず、同じチャンクが記録済みなら主キー制約違反になる。
+     */
+    @Modifying
+    @Query(value = "INSERT INTO import_job_chunk (job_id, chunk_index, imported_rows, failed_rows, completed_at) "
+            + "VALUES (:jobId, :chunkIndex, :importedRows, :failedRows, :completedAt)",
+            nativeQuery = true)
+    int insert(@Param("jobId") String jobId,
+               @Param("chunkIndex") int chunkIndex,
+               @Param("importedRows") int importedRows,
+               @Param("failedRows") int failedRows,
+               @Param("completedAt") LocalDateTime completedAt);
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+    
+    List<ImportJobError> findTop100ByJobIdOrderByLineNumberAsc(String jobId);
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.ImportJob;
+import com.example.todo.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+    
+    /**
+     * 実行中のジョブを作成する。同じIDのジョブが既にあれば主キー制約違反になる。
+     */
+    @Modifying
+    @Query(value = "INSERT INTO import_job (id, format, status, chunk_size, chunk_chars, total_rows, imported_rows, failed_rows, "
+            + "created_at, updated_at) VALUES (:id, :format, 'RUNNING', :chunkSize, :chunkChars, 0, 0, 0, :now, :now)",
+            nativeQuery = true)
+    int create(@Param("id") String id,
+               @Param("format") String format,
+               @Param("chunkSize") int chunkSize,
+               @Param("chunkChars") int chunkChars,
+               @Param("now") LocalDateTime now);
+    
+    /**
+     * 実行中でない（または更新が途絶えた）ジョブを実行中にする。他で実行中の場合は0を返す。
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :running, j.message = null, j.updatedAt = :now "
+            + "WHERE j.id = :id AND (j.status <> :running OR j.updatedAt < :staleBefore)")
+    int claim(@Param("id") String id,
+              @Param("running") ImportJobStatus running,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+    
+    /**
+     * 読み込み中のジョブが更新の途絶えたジョブとして奪われないよう、更新日時だけを進める。
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.updatedAt = :now WHERE j.id = :id")
+    int touch(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.importedRows = j.importedRows + :imported, "
+            + "j.failedRows = j.failedRows + :failed, j.updatedAt = :now WHERE j.id = :id")
+    int addProgress(@Param("id") String id,
+                    @Param("imported") long imported,
+                    @Param("failed") long failed,
+                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.totalRows = :totalRows, j.message = :message, "
+            + "j.updatedAt = :now WHERE j.id = :id")
+    int finish(@Param("id") String id,
+               @Param("status") ImportJobStatus status,
+               @Param("totalRows") long totalRows,
+               @Param("message") String message,
+               @Param("now") LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.TodoArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TodoArchiveRepository extends JpaRepository<TodoArchive, Long>, TodoArchiveRepositoryCustom {
+    
+    // 選択後に未完了へ戻されたり更新されたりした行はコピーしない
+    @Modifying
+    @Query(value = "INSERT INTO todo_archive (id, title, description, completed, created_at, updated_at, archived_at) "
+            + "SELECT id, title, description, completed, created_at, updated_at, :archivedAt FROM todo "
+            + "WHERE id IN (:ids) AND completed = TRUE AND updated_at < :cutoff",
+            nativeQuery = true)
+    int copyFromTodo(@Param("ids") List<Long> ids,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("archivedAt") LocalDateTime archivedAt);
+    
+    /**
+     * コピー後に元の行が変更されて削除されなかった場合、アーカイブ側のコピーを取り消す。
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todo_archive WHERE id IN (:ids) AND id IN (SELECT t.id FROM todo t WHERE t.id IN (:ids))",
+            nativeQuery = true)
+    int deleteStillInTodo(@Param("ids") List<Long> ids);
+}
\ No newline at end of file
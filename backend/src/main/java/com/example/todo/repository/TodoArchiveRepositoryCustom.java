@@ -0,0 +1,15 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.Todo;
+
+import java.util.List;
+
+public interface TodoArchiveRepositoryCustom {
+    
+    /**
+     * todo と todo_archive を合わせ、更新日時とIDの降順に並べた一部を返す。
+     *
+     * @param completed 完了状態で絞り込む場合に指定する。nullの場合はすべて
+     */
+    List<Todo> findPageIncludingArchived(Boolean completed, long offset, int limit);
+}
\ No newline at end of file
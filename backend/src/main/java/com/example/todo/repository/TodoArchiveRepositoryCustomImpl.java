@@ -0,0 +1,70 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.Todo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 2つのテーブルのマージをDBで行う。各テーブルから offset + limit 件までを索引順に取り出して
+ * UNION ALLで並べ替えるため、アプリケーションに読み込むのは要求したページの行だけになる。
+ * 更新日時が同じ行（一括取り込みなど）でもページの境界が変わらないよう、IDを第2キーにする。
+ */
+public class TodoArchiveRepositoryCustomImpl implements TodoArchiveRepositoryCustom {
+    
+    private static final String COLUMNS = "id, title, description, completed, created_at, updated_at";
+    private static final String ORDER = " ORDER BY updated_at DESC, id DESC";
+    
+    private static final RowMapper<Todo> TODO_ROW_MAPPER = (rs, rowNum) -> {
+        // アーカイブ側の行は版を持たない
+        long version = rs.getLong("version");
+        Long nullableVersion = rs.wasNull() ? null : version;
+        return Todo.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .completed(rs.getBoolean("completed"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .version(nullableVersion)
+                .build();
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public TodoArchiveRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public List<Todo> findPageIncludingArchived(Boolean completed, long offset, int limit) {
+        String where = completed == null ? "" : " WHERE completed = ?";
+        long window = offset + limit;
+        List<Object> args = new ArrayList<>();
+        
+        StringBuilder sql = new StringBuilder("(SELECT ").append(COLUMNS).append(", version FROM todo")
+                .append(where).append(ORDER).append(" LIMIT ?)");
+        if (completed != null) {
+            args.add(completed);
+        }
+        args.add(window);
+        
+        // アーカイブには完了済みのTodoしか存在しない
+        if (!Boolean.FALSE.equals(completed)) {
+            sql.append(" UNION ALL (SELECT ").append(COLUMNS).append(", NULL AS version FROM todo_archive")
+                    .append(where).append(ORDER).append(" LIMIT ?)");
+            if (completed != null) {
+                args.add(completed);
+            }
+            args.add(window);
+        }
+        
+        sql.append(ORDER).append(" LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), TODO_ROW_MAPPER, args.toArray());
+    }
+}
\ No newline at end of file
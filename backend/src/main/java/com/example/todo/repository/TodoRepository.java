@@ -1,9 +1,15 @@
 package com.example.todo.repository;
 
 import com.example.todo.model.Todo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +18,19 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByCompletedOrderByUpdatedAtDesc(boolean completed);
     
     List<Todo> findAllByOrderByUpdatedAtDesc();
-}
\ No newline at end of file
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Todo t WHERE t.id = :id")
+    int deleteByIdIgnoringVersion(@Param("id") Long id);
+    
+    @Query("SELECT t.id FROM Todo t WHERE t.completed = true AND t.updatedAt < :cutoff ORDER BY t.updatedAt ASC")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Query("SELECT MIN(t.updatedAt) FROM Todo t WHERE t.completed = true")
+    LocalDateTime findOldestCompletedUpdatedAt();
+    
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id IN :ids AND t.completed = true AND t.updatedAt < :cutoff")
+    int deleteArchived(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+}
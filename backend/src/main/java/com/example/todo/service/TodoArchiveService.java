@@ -0,0 +1,164 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.TodoArchiveRepository;
+import com.example.todo.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TodoArchiveService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiveService.class);
+    
+    private final TodoRepository todoRepository;
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+    
+    private final Counter rowsMoved;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    
+    @Autowired
+    public TodoArchiveService(TodoRepository todoRepository,
+                              TodoArchiveRepository todoArchiveRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${todo.archive.enabled:true}") boolean enabled,
+                              @Value("${todo.archive.min-age:P30D}") Duration minAge,
+                              @Value("${todo.archive.batch-size:500}") int batchSize,
+                              @Value("${todo.archive.batch-pause:PT0.2S}") Duration batchPause,
+                              @Value("${todo.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this(todoRepository, todoArchiveRepository, transactionTemplate, meterRegistry, Clock.systemDefaultZone(),
+                enabled, minAge, batchSize, batchPause, maxBatchesPerRun);
+    }
+    
+    TodoArchiveService(TodoRepository todoRepository,
+                       TodoArchiveRepository todoArchiveRepository,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       Clock clock,
+                       boolean enabled,
+                       Duration minAge,
+                       int batchSize,
+                       Duration batchPause,
+                       int maxBatchesPerRun) {
+        this.todoRepository = todoRepository;
+        this.todoArchiveRepository = todoArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.rowsMoved = Counter.builder("todo.archive.rows.moved")
+                .description("Number of completed todos moved to todo_archive")
+                .register(meterRegistry);
+        Gauge.builder("todo.archive.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("How long the oldest archivable todo has been waiting to be moved")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${todo.archive.interval:PT5M}", initialDelayString = "${todo.archive.initial-delay:PT1M}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveCompletedTodos();
+        } catch (RuntimeException e) {
+            logger.error("Todo archive run failed", e);
+        }
+    }
+    
+    /**
+     * 完了から一定期間経過したTodoをバッチ単位でtodo_archiveへ移動する。
+     * 1バッチ＝1トランザクションとし、バッチ間で待機してロック保持時間と負荷を抑える。
+     */
+    public int archiveCompletedTodos() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(minAge);
+        int total = 0;
+        
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> moveBatch(cutoff));
+            int count = moved == null ? 0 : moved;
+            total += count;
+            rowsMoved.increment(count);
+            
+            if (count < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        
+        updateLag();
+        if (total > 0) {
+            logger.info("Archived {} completed todos older than {}", total, cutoff);
+        }
+        return total;
+    }
+    
+    long getLagSeconds() {
+        return lagSeconds.get();
+    }
+    
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = todoRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // 選択からコピー・削除までの間にトグルや編集された行は completed / updated_at の条件で除外される。
+        // コピーと削除の間に変更された行はアーカイブ側から取り消し、両方に残らないようにする
+        todoArchiveRepository.copyFromTodo(ids, cutoff, LocalDateTime.now(clock));
+        int deleted = todoRepository.deleteArchived(ids, cutoff);
+        todoArchiveRepository.deleteStillInTodo(ids);
+        return deleted;
+    }
+    
+    private void updateLag() {
+        LocalDateTime oldest = todoRepository.findOldestCompletedUpdatedAt();
+        if (oldest == null) {
+            lagSeconds.set(0);
+            return;
+        }
+        long lag = Duration.between(oldest.plus(minAge), LocalDateTime.now(clock)).getSeconds();
+        lagSeconds.set(Math.max(lag, 0));
+    }
+    
+    private boolean pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
\ No newline at end of file
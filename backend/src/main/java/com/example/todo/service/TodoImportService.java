@@ -0,0 +1,373 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.ImportJobDto;
+import com.example.todo.exception.ImportJobRunningException;
+import com.example.todo.importer.ImportRow;
+import com.example.todo.importer.RowReader;
+import com.example.todo.model.ImportFormat;
+import com.example.todo.model.ImportJob;
+import com.example.todo.model.ImportJobError;
+import com.example.todo.model.ImportJobStatus;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.ImportJobChunkRepository;
+import com.example.todo.repository.ImportJobErrorRepository;
+import com.example.todo.repository.ImportJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * CSV/NDJSONのアップロードをストリーミングで解析し、チャンク単位でワーカーに渡してTodoを一括挿入する。
+ * 完了したチャンクは挿入と同じトランザクションで記録するため、同じジョブIDで再アップロードすると続きから再開できる。
+ */
+@Service
+public class TodoImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TodoImportService.class);
+    
+    // IDENTITY採番のエンティティはHibernateでバッチ挿入できないためJDBCで挿入する。
+    // rewriteBatchedStatements=true によりMySQLでは複数行INSERTに書き換えられる
+    private static final String INSERT_TODO_SQL =
+            "INSERT INTO todo (title, description, completed, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, 0)";
+    
+    private static final int MAX_STORED_ERRORS = 1000;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+    
+    // 更新が途絶えたと判定されるまでの間に、読み込み中のジョブの更新日時を進める回数
+    private static final int HEARTBEATS_PER_STALE_PERIOD = 4;
+    
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobChunkRepository importJobChunkRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Executor importExecutor;
+    private final int chunkSize;
+    private final int maxChunkChars;
+    private final int maxRecordChars;
+    private final Duration staleAfter;
+    private final long heartbeatNanos;
+    private final Semaphore inFlightChunks;
+    
+    @Autowired
+    public TodoImportService(ImportJobRepository importJobRepository,
+                             ImportJobChunkRepository importJobChunkRepository,
+                             ImportJobErrorRepository importJobErrorRepository,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Qualifier("todoImportExecutor") Executor importExecutor,
+                             @Value("${todo.import.chunk-size:1000}") int chunkSize,
+                             @Value("${todo.import.max-chunk-chars:1000000}") int maxChunkChars,
+                             @Value("${todo.import.max-in-flight-chunks:8}") int maxInFlightChunks,
+                             @Value("${todo.import.max-record-chars:65536}") int maxRecordChars,
+                             @Value("${todo.import.stale-after:PT5M}") Duration staleAfter) {
+        this.importJobRepository = importJobRepository;
+        this.importJobChunkRepository = importJobChunkRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.importExecutor = importExecutor;
+        this.chunkSize = chunkSize;
+        this.maxChunkChars = maxChunkChars;
+        this.maxRecordChars = maxRecordChars;
+        this.staleAfter = staleAfter;
+        this.heartbeatNanos = staleAfter.toNanos() / HEARTBEATS_PER_STALE_PERIOD;
+        this.inFlightChunks = new Semaphore(maxInFlightChunks);
+    }
+    
+    /**
+     * 取り込みを開始する。jobIdを指定した場合、そのジョブがあれば再開して完了済みのチャンクを読み飛ばし、
+     * なければそのIDでジョブを作成する。クライアントが最初のアップロードからIDを決めておけば、
+     * 応答を受け取る前に接続が切れても同じIDで進捗を確認したり再開したりできる。
+     * アップロードを読み終えた時点で返り、残りのチャンクはバックグラウンドで書き込まれる。
+     */
+    public ImportJobDto startImport(String jobId, ImportFormat format, InputStream body) throws IOException {
+        String id = jobId != null ? jobId : UUID.randomUUID().toString();
+        ImportJob job = importJobRepository.findById(id).orElse(null);
+        if (job == null) {
+            job = create(id, format);
+        } else {
+            if (job.getStatus() == ImportJobStatus.COMPLETED) {
+                return toDto(job, List.of());
+            }
+            claim(job);
+        }
+        
+        ImportRun run = new ImportRun(job, importJobChunkRepository.findCompletedChunkIndexes(job.getId()));
+        try (RowReader reader = RowReader.open(format, body, objectMapper, maxRecordChars)) {
+            List<ImportRow> chunk = new ArrayList<>(job.getChunkSize());
+            long chunkChars = 0;
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                heartbeat(run);
+                run.totalRows.incrementAndGet();
+                chunk.add(row);
+                chunkChars += row.chars();
+                // 長い行が続く場合は行数に達する前に区切り、書き込み待ちのチャンクが保持するメモリを抑える。
+                // 区切り位置は入力とジョブに記録した設定だけで決まるため、再開時も同じチャンク番号になる
+                if (chunk.size() == job.getChunkSize()
+                        || (job.getChunkChars() > 0 && chunkChars >= job.getChunkChars())) {
+                    submit(run, chunk);
+                    chunk = new ArrayList<>(job.getChunkSize());
+                    chunkChars = 0;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(run, chunk);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import job {} stopped while reading the upload", job.getId(), e);
+            run.fail("Upload interrupted after " + run.totalRows.get() + " rows: " + e.getMessage());
+        } finally {
+            run.taskDone();
+        }
+        return run.snapshot();
+    }
+    
+    public Optional<ImportJobDto> getJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .map(job -> toDto(job, importJobErrorRepository.findTop100ByJobIdOrderByLineNumberAsc(jobId)));
+    }
+    
+    // 同じIDで同時に作成された場合は、先に作成した側が実行中として扱う
+    private ImportJob create(String id, ImportFormat format) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> importJobRepository.create(
+                    id, format.name(), chunkSize, maxChunkChars, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            throw new ImportJobRunningException(id);
+        }
+        return importJobRepository.findById(id).orElseThrow();
+    }
+    
+    private void claim(ImportJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> importJobRepository.claim(
+                job.getId(), ImportJobStatus.RUNNING, now, now.minus(staleAfter)));
+        if (claimed == null || claimed == 0) {
+            throw new ImportJobRunningException(job.getId());
+        }
+    }
+    
+    // 読み込み済みのチャンクが全て取り込み済みで読み飛ばしている間や、書き込みより読み込みに時間がかかる間も、
+    // 他のアップロードに更新の途絶えたジョブとして奪われないようにする
+    private void heartbeat(ImportRun run) {
+        long now = System.nanoTime();
+        if (now - run.lastHeartbeat < heartbeatNanos) {
+            return;
+        }
+        run.lastHeartbeat = now;
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.touch(run.jobId, LocalDateTime.now()));
+    }
+    
+    private void submit(ImportRun run, List<ImportRow> rows) {
+        int chunkIndex = run.nextChunkIndex++;
+        if (run.completedChunks.contains(chunkIndex)) {
+            return;
+        }
+        
+        // 書き込み待ちのチャンク数を制限し、解析がDBへの書き込みより先行しすぎないようにする
+        try {
+            inFlightChunks.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an import worker", e);
+        }
+        run.pending.incrementAndGet();
+        try {
+            importExecutor.execute(() -> {
+                try {
+                    writeChunk(run, chunkIndex, rows);
+                } catch (RuntimeException e) {
+                    logger.error("Import job {} failed to write chunk {}", run.jobId, chunkIndex, e);
+                    run.fail("Chunk " + chunkIndex + " failed: " + e.getMessage());
+                } finally {
+                    inFlightChunks.release();
+                    run.taskDone();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlightChunks.release();
+            run.taskDone();
+            throw e;
+        }
+    }
+    
+    private void writeChunk(ImportRun run, int chunkIndex, List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inserts = new ArrayList<>(rows.size());
+        List<ImportJobError> errors = new ArrayList<>();
+        
+        for (ImportRow row : rows) {
+            String error = validate(row);
+            if (error == null) {
+                inserts.add(new Object[]{row.title(), row.description(), row.completed(), now, now});
+            } else {
+                errors.add(ImportJobError.builder()
+                        .jobId(run.jobId)
+                        .lineNumber(row.lineNumber())
+                        .message(error.length() > MAX_ERROR_MESSAGE_LENGTH
+                                ? error.substring(0, MAX_ERROR_MESSAGE_LENGTH) : error)
+                        .build());
+            }
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TODO_SQL, inserts);
+            }
+            List<ImportJobError> storedErrors = run.errorsToStore(errors);
+            if (!storedErrors.isEmpty()) {
+                importJobErrorRepository.saveAll(storedErrors);
+            }
+            // 他のアップロードが同じチャンクを記録済みなら制約違反となり、このチャンクの挿入ごと取り消される
+            importJobChunkRepository.insert(run.jobId, chunkIndex, inserts.size(), errors.size(), now);
+            importJobRepository.addProgress(run.jobId, inserts.size(), errors.size(), now);
+        });
+        run.importedRows.addAndGet(inserts.size());
+        run.failedRows.addAndGet(errors.size());
+    }
+    
+    // Todoエンティティと同じBean Validationの制約で検証する
+    private String validate(ImportRow row) {
+        if (row.parseError() != null) {
+            return row.parseError();
+        }
+        Todo todo = Todo.builder()
+                .title(row.title())
+                .description(row.description())
+                .completed(row.completed())
+                .build();
+        Set<ConstraintViolation<Todo>> violations = validator.validate(todo);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    private void finish(ImportRun run) {
+        String failure = run.failure.get();
+        ImportJobStatus status = failure == null ? ImportJobStatus.COMPLETED : ImportJobStatus.FAILED;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> importJobRepository.finish(
+                    run.jobId, status, run.totalRows.get(), failure, LocalDateTime.now()));
+            run.finalStatus = status;
+            logger.info("Import job {} {}: {} rows imported, {} rows failed",
+                    run.jobId, status, run.importedRows.get(), run.failedRows.get());
+        } catch (RuntimeException e) {
+            // ステータスを更新できなくても、更新が途絶えたジョブとして後から再開できる
+            logger.error("Failed to record the result of import job {}", run.jobId, e);
+        }
+    }
+    
+    private ImportJobDto toDto(ImportJob job, List<ImportJobError> errors) {
+        return ImportJobDto.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .totalRows(job.getTotalRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .message(job.getMessage())
+                .errors(errors.stream()
+                        .map(error -> new ImportJobDto.RowError(error.getLineNumber(), error.getMessage()))
+                        .toList())
+                .build();
+    }
+    
+    /**
+     * 1回のアップロード処理の状態。解析スレッドとワーカーで共有する。
+     */
+    private class ImportRun {
+        private final String jobId;
+        private final ImportFormat format;
+        private final Set<Integer> completedChunks;
+        private final AtomicLong totalRows = new AtomicLong();
+        private final AtomicLong importedRows;
+        private final AtomicLong failedRows;
+        private final AtomicInteger storedErrors;
+        // 解析スレッド自身の分として1から始め、0になった時点でジョブを終了する
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicReference<String> failure = new AtomicReference<>();
+        private int nextChunkIndex;
+        private long lastHeartbeat = System.nanoTime();
+        private volatile ImportJobStatus finalStatus;
+        
+        ImportRun(ImportJob job, Set<Integer> completedChunks) {
+            this.jobId = job.getId();
+            this.format = job.getFormat();
+            this.completedChunks = completedChunks;
+            this.importedRows = new AtomicLong(job.getImportedRows());
+            this.failedRows = new AtomicLong(job.getFailedRows());
+            this.storedErrors = new AtomicInteger((int) Math.min(job.getFailedRows(), MAX_STORED_ERRORS));
+        }
+        
+        void fail(String message) {
+            failure.compareAndSet(null, message);
+        }
+        
+        void taskDone() {
+            if (pending.decrementAndGet() == 0) {
+                finish(this);
+            }
+        }
+        
+        List<ImportJobError> errorsToStore(List<ImportJobError> errors) {
+            if (errors.isEmpty()) {
+                return errors;
+            }
+            int end = storedErrors.getAndAdd(errors.size());
+            int allowed = Math.max(0, Math.min(errors.size(), MAX_STORED_ERRORS - end));
+            return errors.subList(0, allowed);
+        }
+        
+        ImportJobDto snapshot() {
+            ImportJobStatus status = finalStatus;
+            return ImportJobDto.builder()
+                    .id(jobId)
+                    .format(format)
+                    .status(status == null ? ImportJobStatus.RUNNING : status)
+                    .totalRows(totalRows.get())
+                    .importedRows(importedRows.get())
+                    .failedRows(failedRows.get())
+                    .message(failure.get())
+                    .errors(List.of())
+                    .build();
+        }
+    }
+}
\ No newline at end of file
@@ -1,21 +1,38 @@
 package com.example.todo.service;
 
+import com.example.todo.exception.TodoConflictException;
 import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoArchiveRepository;
 import com.example.todo.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class TodoService {
     
+    private static final Logger logger = LoggerFactory.getLogger(TodoService.class);
+    
+    // トグルのように再実行しても結果が変わらない操作のみ自動で再試行する
+    static final int MAX_TOGGLE_ATTEMPTS = 5;
+    private static final long RETRY_BACKOFF_BASE_MILLIS = 5;
+    
+    static final int MAX_PAGE_SIZE = 500;
+    static final long MAX_ARCHIVE_OFFSET = 10_000;
+    
     private final TodoRepository todoRepository;
+    private final TodoArchiveRepository todoArchiveRepository;
     
     @Autowired
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, TodoArchiveRepository todoArchiveRepository) {
         this.todoRepository = todoRepository;
+        this.todoArchiveRepository = todoArchiveRepository;
     }
     
     public List<Todo> getAllTodos() {
@@ -26,6 +43,14 @@ public class TodoService {
         return todoRepository.findByCompletedOrderByUpdatedAtDesc(completed);
     }
     
+    public List<Todo> getAllTodosIncludingArchived(int page, int size) {
+        return findPageIncludingArchived(null, page, size);
+    }
+    
+    public List<Todo> getTodosByCompletedIncludingArchived(boolean completed, int page, int size) {
+        return findPageIncludingArchived(completed, page, size);
+    }
+    
     public Optional<Todo> getTodoById(Long id) {
         return todoRepository.findById(id);
     }
@@ -35,29 +60,81 @@ public class TodoService {
     }
     
     public Optional<Todo> updateTodo(Long id, Todo updatedTodo) {
-        return todoRepository.findById(id)
-                .map(existingTodo -> {
-                    existingTodo.setTitle(updatedTodo.getTitle());
-                    existingTodo.setDescription(updatedTodo.getDescription());
-                    existingTodo.setCompleted(updatedTodo.isCompleted());
-                    return todoRepository.save(existingTodo);
-                });
+        try {
+            return todoRepository.findById(id)
+                    .map(existingTodo -> {
+                        // クライアントが古い版を元に編集していた場合は上書きしない
+                        if (updatedTodo.getVersion() != null
+                                && !updatedTodo.getVersion().equals(existingTodo.getVersion())) {
+                            throw new TodoConflictException(existingTodo, null);
+                        }
+                        existingTodo.setTitle(updatedTodo.getTitle());
+                        existingTodo.setDescription(updatedTodo.getDescription());
+                        existingTodo.setCompleted(updatedTodo.isCompleted());
+                        return todoRepository.save(existingTodo);
+                    });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return conflict(id, e);
+        }
     }
     
     public Optional<Todo> toggleTodoCompleted(Long id) {
-        return todoRepository.findById(id)
-                .map(existingTodo -> {
-                    existingTodo.setCompleted(!existingTodo.isCompleted());
-                    return todoRepository.save(existingTodo);
-                });
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return todoRepository.findById(id)
+                        .map(existingTodo -> {
+                            existingTodo.setCompleted(!existingTodo.isCompleted());
+                            return todoRepository.save(existingTodo);
+                        });
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= MAX_TOGGLE_ATTEMPTS) {
+                    return conflict(id, e);
+                }
+                logger.debug("Optimistic lock conflict on todo {} (attempt {}), retrying", id, attempt);
+                if (!backoff(attempt)) {
+                    return conflict(id, e);
+                }
+            }
+        }
     }
     
+    // 削除は版に関係なく行い、並行するトグルや編集と重なっても競合（409）にはしない
     public boolean deleteTodo(Long id) {
-        return todoRepository.findById(id)
-                .map(todo -> {
-                    todoRepository.delete(todo);
-                    return true;
-                })
-                .orElse(false);
+        return todoRepository.deleteByIdIgnoringVersion(id) > 0;
+    }
+    
+    /**
+     * 並べ替えとページングはDBで行う。深いページほどDBの読み取り量が増えるため、先頭からの位置に上限を設ける。
+     */
+    private List<Todo> findPageIncludingArchived(Boolean completed, int page, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long offset = (long) page * limit;
+        if (page < 0 || offset > MAX_ARCHIVE_OFFSET) {
+            throw new IllegalArgumentException("page must be between 0 and " + MAX_ARCHIVE_OFFSET / limit);
+        }
+        return todoArchiveRepository.findPageIncludingArchived(completed, offset, limit);
+    }
+    
+    /**
+     * 競合時は最新の状態を付けてTodoConflictExceptionを送出する。既に削除されていた場合は空を返す。
+     */
+    private Optional<Todo> conflict(Long id, ObjectOptimisticLockingFailureException cause) {
+        Todo current = todoRepository.findById(id).orElse(null);
+        if (current == null) {
+            return Optional.empty();
+        }
+        throw new TodoConflictException(current, cause);
+    }
+    
+    // 指数バックオフ＋フルジッターで待機する
+    private boolean backoff(int attempt) {
+        long maxDelay = RETRY_BACKOFF_BASE_MILLIS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
\ No newline at end of file
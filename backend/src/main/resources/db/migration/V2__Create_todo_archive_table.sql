@@ -0,0 +1,13 @@
+CREATE TABLE todo_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    completed BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_todo_archive_updated_at ON todo_archive (updated_at);
+
+CREATE INDEX idx_todo_completed_updated_at ON todo (completed, updated_at);
\ No newline at end of file
@@ -0,0 +1,30 @@
+CREATE TABLE import_job (
+    id VARCHAR(36) PRIMARY KEY,
+    format VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    chunk_size INT NOT NULL,
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    message TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE import_job_chunk (
+    job_id VARCHAR(36) NOT NULL,
+    chunk_index INT NOT NULL,
+    imported_rows INT NOT NULL,
+    failed_rows INT NOT NULL,
+    completed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_id, chunk_index)
+);
+
+CREATE TABLE import_job_error (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL,
+    line_number BIGINT NOT NULL,
+    message VARCHAR(1000) NOT NULL
+);
+
+CREATE INDEX idx_import_job_error_job_line ON import_job_error (job_id, line_number);
\ No newline at end of file
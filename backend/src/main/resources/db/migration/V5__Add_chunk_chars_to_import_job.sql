@@ -0,0 +1,2 @@
+-- 0の場合は文字数で区切らない（この列を追加する前に作成したジョブは行数だけで区切っていたため）
+ALTER TABLE import_job ADD COLUMN chunk_chars INT NOT NULL DEFAULT 0;
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.todo.controller;
 
+import com.example.todo.exception.TodoConflictException;
 import com.example.todo.model.Todo;
 import com.example.todo.service.TodoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,6 +18,7 @@ import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -87,6 +89,36 @@ public class TodoControllerTest {
                 .andExpect(jsonPath("$[0].completed", is(true)));
     }
 
+    @Test
+    void shouldGetTodosIncludingArchived() throws Exception {
+        // Given
+        Todo archived = Todo.builder()
+                .id(10L)
+                .title("アーカイブ済みタスク")
+                .completed(true)
+                .build();
+        when(todoService.getTodosByCompletedIncludingArchived(true, 1, 20)).thenReturn(List.of(todo2, archived));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos?completed=true&includeArchived=true&page=1&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(10)));
+
+        verify(todoService, never()).getTodosByCompleted(anyBoolean());
+    }
+
+    @Test
+    void shouldReturn400ForPageBeyondArchiveLimit() throws Exception {
+        // Given
+        when(todoService.getAllTodosIncludingArchived(100000, 500))
+                .thenThrow(new IllegalArgumentException("page must be between 0 and 20"));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos?includeArchived=true&page=100000&size=500"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetTodoById() throws Exception {
         // Given
@@ -166,6 +198,31 @@ public class TodoControllerTest {
                 .andExpect(jsonPath("$.completed", is(true)));
     }
 
+    @Test
+    void shouldReturn409WithCurrentStateOnConflict() throws Exception {
+        // Given
+        Todo current = Todo.builder()
+                .id(1L)
+                .title("他のユーザーが更新したタスク")
+                .completed(true)
+                .version(4L)
+                .build();
+        Todo staleTodo = Todo.builder()
+                .title("更新されたタスク")
+                .version(3L)
+                .build();
+
+        when(todoService.updateTodo(eq(1L), any(Todo.class))).thenThrow(new TodoConflictException(current, null));
+
+        // When & Then
+        mockMvc.perform(put("/api/todos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(staleTodo)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title", is("他のユーザーが更新したタスク")))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
     @Test
     void shouldToggleTodoCompleted() throws Exception {
         // Given
@@ -0,0 +1,97 @@
+package com.example.todo.controller;
+
+import com.example.todo.repository.ImportJobRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open Session in View有効のまま一括取り込みを実行し、アップロードを読んでいる間に接続を保持しないことを確認する。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.open-in-view=true",
+        "todo.rate-limit.enabled=false"
+})
+public class TodoImportConnectionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Test
+    void shouldNotHoldConnectionWhileReadingUpload() throws Exception {
+        // Given: 先頭の行を送った後、残りを送るまで止まるアップロード
+        String jobId = "osiv-job";
+        CountDownLatch resume = new CountDownLatch(1);
+        InputStream upload = new SequenceInputStream(
+                stream("title,description,completed\n接続1,,false\n"),
+                new InputStream() {
+                    private InputStream rest;
+
+                    @Override
+                    public int read() throws IOException {
+                        if (rest == null) {
+                            try {
+                                resume.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IOException(e);
+                            }
+                            rest = stream("接続2,,true\n");
+                        }
+                        return rest.read();
+                    }
+                });
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todos/import?jobId=" + jobId))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> upload))
+                .build();
+
+        // When: ジョブが作成され、サーバーが続きを待っている間のアクティブな接続数を調べる
+        CompletableFuture<HttpResponse<String>> response = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (importJobRepository.findById(jobId).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        while (pool.getActiveConnections() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        int activeWhileReading = pool.getActiveConnections();
+        resume.countDown();
+
+        // Then
+        assertThat(importJobRepository.findById(jobId)).isPresent();
+        assertThat(activeWhileReading).isZero();
+        assertThat(response.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(202);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.ImportJobDto;
+import com.example.todo.exception.ImportJobRunningException;
+import com.example.todo.model.ImportFormat;
+import com.example.todo.model.ImportJobStatus;
+import com.example.todo.service.TodoImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TodoImportController.class)
+public class TodoImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoImportService todoImportService;
+
+    @Test
+    void shouldStartCsvImport() throws Exception {
+        // Given
+        ImportJobDto job = ImportJobDto.builder()
+                .id("job-1")
+                .format(ImportFormat.CSV)
+                .status(ImportJobStatus.RUNNING)
+                .totalRows(2)
+                .errors(List.of())
+                .build();
+        when(todoImportService.startImport(isNull(), eq(ImportFormat.CSV), any(InputStream.class)))
+                .thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType("text/csv")
+                        .content("title\nタスク1\nタスク2\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is("job-1")))
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.totalRows", is(2)));
+    }
+
+    @Test
+    void shouldResumeNdjsonImport() throws Exception {
+        // Given
+        ImportJobDto job = ImportJobDto.builder()
+                .id("job-1")
+                .format(ImportFormat.NDJSON)
+                .status(ImportJobStatus.RUNNING)
+                .errors(List.of())
+                .build();
+        when(todoImportService.startImport(eq("job-1"), eq(ImportFormat.NDJSON), any(InputStream.class)))
+                .thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/import?jobId=job-1")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"タスク1\"}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.format", is("NDJSON")));
+    }
+
+    @Test
+    void shouldReturn409WhenJobIsRunning() throws Exception {
+        // Given
+        when(todoImportService.startImport(eq("job-1"), any(), any(InputStream.class)))
+                .thenThrow(new ImportJobRunningException("job-1"));
+
+        // When & Then
+        mockMvc.perform(post("/api/todos/import?jobId=job-1")
+                        .contentType("text/csv")
+                        .content("title\n"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldRejectInvalidJobId() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/todos/import?jobId=../etc")
+                        .contentType("text/csv")
+                        .content("title\n"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoImportService);
+    }
+
+    @Test
+    void shouldRejectUnsupportedContentType() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/todos/import")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(todoImportService);
+    }
+
+    @Test
+    void shouldGetImportJobWithErrors() throws Exception {
+        // Given
+        ImportJobDto job = ImportJobDto.builder()
+                .id("job-1")
+                .status(ImportJobStatus.COMPLETED)
+                .importedRows(4)
+                .failedRows(1)
+                .errors(List.of(new ImportJobDto.RowError(4, "Title is required")))
+                .build();
+        when(todoImportService.getJob("job-1")).thenReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/import/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.errors[0].message", is("Title is required")));
+    }
+
+    @Test
+    void shouldReturn404ForUnknownImportJob() throws Exception {
+        // Given
+        when(todoImportService.getJob("unknown")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/todos/import/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
\ No newline at end of file
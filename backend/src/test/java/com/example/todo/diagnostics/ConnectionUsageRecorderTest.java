@@ -0,0 +1,107 @@
+package com.example.todo.diagnostics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ConnectionUsageRecorderTest {
+
+    private ConnectionUsageRecorder recorder;
+
+    @BeforeEach
+    void setup() {
+        recorder = new ConnectionUsageRecorder();
+    }
+
+    @Test
+    void shouldBucketAcquireTimes() {
+        // When
+        recorder.recordAcquire(TimeUnit.MICROSECONDS.toNanos(300));
+        recorder.recordAcquire(TimeUnit.MILLISECONDS.toNanos(30));
+        recorder.recordAcquire(TimeUnit.SECONDS.toNanos(10));
+
+        // Then
+        Map<String, Long> histogram = recorder.acquireHistogram();
+        assertThat(histogram.get("le_1ms")).isEqualTo(1);
+        assertThat(histogram.get("le_50ms")).isEqualTo(1);
+        assertThat(histogram.get("gt_5000ms")).isEqualTo(1);
+        assertThat(histogram.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldAttributeUsageToMethodThatAcquiredConnection() {
+        // Given
+        String previous = recorder.enterMethod("TodoService.updateTodo");
+        borrow(40);
+        borrow(20);
+        recorder.exitMethod(previous);
+
+        previous = recorder.enterMethod("TodoService.getAllTodos");
+        borrow(5);
+        recorder.exitMethod(previous);
+
+        // 実行中のメソッドがない状態で取得した場合は集計しない
+        borrow(1000);
+
+        // When
+        List<Map<String, Object>> top = recorder.topMethodsByHoldTime(10);
+
+        // Then
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).get("method")).isEqualTo("TodoService.updateTodo");
+        assertThat(top.get(0).get("count")).isEqualTo(2L);
+        assertThat(top.get(0).get("maxMillis")).isEqualTo(40L);
+        assertThat(top.get(0).get("avgMillis")).isEqualTo(30.0);
+        assertThat(top.get(1).get("method")).isEqualTo("TodoService.getAllTodos");
+    }
+
+    @Test
+    void shouldAttributeUsageReturnedAfterMethodExit() {
+        // Given
+        // OSIVではメソッド終了後、リクエストの最後にコネクションが返却される
+        String previous = recorder.enterMethod("TodoService.getAllTodos");
+        recorder.recordAcquire(TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.exitMethod(previous);
+
+        // When
+        recorder.recordUsage(25);
+
+        // Then
+        assertThat(recorder.topMethodsByHoldTime(1)).singleElement()
+                .satisfies(row -> assertThat(row.get("method")).isEqualTo("TodoService.getAllTodos"));
+    }
+
+    @Test
+    void shouldDelegateToWrappedTracker() {
+        // Given
+        IMetricsTracker delegateTracker = mock(IMetricsTracker.class);
+        ConnectionUsageMetricsTrackerFactory factory =
+                new ConnectionUsageMetricsTrackerFactory((poolName, poolStats) -> delegateTracker, recorder);
+        IMetricsTracker tracker = factory.create("todo-pool", mock(PoolStats.class));
+
+        // When
+        String previous = recorder.enterMethod("TodoService.toggleTodoCompleted");
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        tracker.recordConnectionUsageMillis(15);
+        recorder.exitMethod(previous);
+
+        // Then
+        verify(delegateTracker).recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        verify(delegateTracker).recordConnectionUsageMillis(15);
+        assertThat(recorder.acquireHistogram().get("le_5ms")).isEqualTo(1);
+        assertThat(recorder.topMethodsByHoldTime(1).get(0).get("maxMillis")).isEqualTo(15L);
+    }
+
+    private void borrow(long usageMillis) {
+        recorder.recordAcquire(TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.recordUsage(usageMillis);
+    }
+}
\ No newline at end of file
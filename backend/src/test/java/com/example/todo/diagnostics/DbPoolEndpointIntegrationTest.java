@@ -0,0 +1,39 @@
+package com.example.todo.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Open Session in View有効のまま実際のリクエストを処理し、保持時間がTodoServiceのメソッドに紐付くことを確認する。
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=true",
+        "management.endpoints.web.exposure.include=dbpool"
+})
+@AutoConfigureMockMvc
+public class DbPoolEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReportHoldTimeForServiceMethodUnderOpenInView() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/dbpool"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.poolName").exists())
+                .andExpect(jsonPath("$.longestHoldingMethods[*].method", hasItem("TodoService.getAllTodos")));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.todo.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 本番と同じリモートIP設定で組み込みTomcatを起動し、X-Forwarded-Forのクライアントごとに制限されることを確認する。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.forward-headers-strategy=native",
+        "server.tomcat.remoteip.remote-ip-header=x-forwarded-for",
+        "server.tomcat.remoteip.protocol-header=x-forwarded-proto",
+        "todo.rate-limit.read.capacity=1",
+        "todo.rate-limit.read.refill-per-second=0.01"
+})
+public class RateLimitFilterIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldRateLimitByForwardedClientIp() {
+        // Given
+        assertThat(get("203.0.113.10").getStatusCode().value()).isEqualTo(200);
+
+        // When
+        ResponseEntity<String> sameClient = get("203.0.113.10");
+        ResponseEntity<String> otherClient = get("203.0.113.11");
+
+        // Then
+        assertThat(sameClient.getStatusCode().value()).isEqualTo(429);
+        assertThat(sameClient.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(otherClient.getStatusCode().value()).isEqualTo(200);
+    }
+
+    private ResponseEntity<String> get(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        return restTemplate.exchange("/api/todos", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.todo.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private ClientRateLimiter readLimiter;
+    private ClientRateLimiter writeLimiter;
+    private AdmissionController admissionController;
+    private RateLimitFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        readLimiter = new ClientRateLimiter(2, 1, 100, Duration.ofMinutes(10));
+        writeLimiter = new ClientRateLimiter(1, 0.5, 100, Duration.ofMinutes(10));
+        admissionController = new AdmissionController(10, 0.2, 100, 5000, TimeUnit.MILLISECONDS);
+        filter = new RateLimitFilter(readLimiter, writeLimiter, admissionController, "X-API-Key",
+                Set.of("client-a", "client-b"), 1, meterRegistry);
+    }
+
+    @Test
+    void shouldReturn429WithRetryAfterWhenReadBudgetExhausted() throws Exception {
+        // Given
+        perform("GET", "10.0.0.1", null);
+        perform("GET", "10.0.0.1", null);
+
+        // When
+        MockHttpServletResponse response = perform("GET", "10.0.0.1", null);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("todo.rate-limit.rejected").tag("reason", "rate_limited").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseSeparateBudgetsForReadsAndWrites() throws Exception {
+        // Given
+        perform("POST", "10.0.0.1", null);
+
+        // When
+        MockHttpServletResponse write = perform("POST", "10.0.0.1", null);
+        MockHttpServletResponse read = perform("GET", "10.0.0.1", null);
+
+        // Then
+        assertThat(write.getStatus()).isEqualTo(429);
+        assertThat(write.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(read.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldKeyClientsByApiKeyBeforeIp() throws Exception {
+        // Given
+        perform("POST", "10.0.0.1", "client-a");
+
+        // When
+        MockHttpServletResponse sameKey = perform("POST", "10.0.0.2", "client-a");
+        MockHttpServletResponse otherKey = perform("POST", "10.0.0.1", "client-b");
+
+        // Then
+        assertThat(sameKey.getStatus()).isEqualTo(429);
+        assertThat(otherKey.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldKeyUnknownApiKeysByIp() throws Exception {
+        // Given
+        perform("POST", "10.0.0.1", "forged-1");
+
+        // When
+        MockHttpServletResponse response = perform("POST", "10.0.0.1", "forged-2");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(writeLimiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLowerConcurrencyLimitWhenPoolWaitExceedsThreshold() throws Exception {
+        // Given: 過負荷時は上限10の2割（2件）まで受け入れる
+        admissionController.recordPoolWait(TimeUnit.MILLISECONDS.toNanos(500), 2);
+        assertThat(admissionController.tryAcquire()).isTrue();
+
+        // When
+        MockHttpServletResponse admitted = perform("GET", "10.0.0.1", null);
+        admissionController.tryAcquire();
+        MockHttpServletResponse shed = perform("GET", "10.0.0.1", null);
+
+        // Then
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("todo.rate-limit.rejected").tag("reason", "shed").counter().count())
+                .isEqualTo(1);
+
+        // 取得待ちが発生しなくなれば通常の上限に戻る
+        admissionController.recordPoolWait(TimeUnit.MILLISECONDS.toNanos(500), 2);
+        assertThat(perform("GET", "10.0.0.1", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldIgnoreStaleOverloadSignal() {
+        // Given
+        long[] now = {0};
+        AdmissionController controller = new AdmissionController(10, 0.2, 100, 5000, TimeUnit.MILLISECONDS,
+                () -> now[0]);
+        controller.recordPoolWait(TimeUnit.MILLISECONDS.toNanos(500), 2);
+        assertThat(controller.isOverloaded()).isTrue();
+
+        // When
+        // スケジューラーが止まり計測が更新されない
+        now[0] = TimeUnit.SECONDS.toNanos(6);
+
+        // Then
+        assertThat(controller.isOverloaded()).isFalse();
+    }
+
+    @Test
+    void shouldShedLoadWhenConcurrencyLimitReached() throws Exception {
+        // Given
+        AdmissionController single = new AdmissionController(1, 0.2, 100, 5000, TimeUnit.MILLISECONDS);
+        RateLimitFilter limited = new RateLimitFilter(readLimiter, writeLimiter, single, "X-API-Key", Set.of(), 1,
+                meterRegistry);
+        single.tryAcquire();
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        limited.doFilter(request("GET", "10.0.0.1", null), response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedClientWhenFull() {
+        // Given
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, Duration.ofMinutes(10), () -> 0L);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("a");
+
+        // When
+        long newcomer = limiter.tryAcquire("c");
+
+        // Then
+        assertThat(newcomer).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+        // 直近にアクセスのあった a は残り、使い切った予算も維持される
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        // 破棄された b は新しいバケットで再開する
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void shouldEvictIdleClientsOnSweep() {
+        // Given
+        long[] now = {0};
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 10, Duration.ofSeconds(1), () -> now[0]);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // When
+        now[0] = TimeUnit.SECONDS.toNanos(5);
+        limiter.tryAcquire("c");
+        limiter.evictIdle();
+
+        // Then
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse perform(String method, String remoteAddr, String apiKey) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, remoteAddr, apiKey), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/todos");
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.example.todo.importer;
+
+import com.example.todo.model.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RowReaderTest {
+
+    @Test
+    void shouldReadCsvWithQuotedFields() throws IOException {
+        // Given
+        String csv = """
+                completed,title,description
+                false,タスク1,説明1
+                true,"カンマ, を含む","複数行の
+                説明と ""引用符""\"
+                
+                false,タスク3,
+                """;
+
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+        // Then
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(new ImportRow(2, "タスク1", "説明1", false, null));
+        assertThat(rows.get(1).lineNumber()).isEqualTo(3);
+        assertThat(rows.get(1).title()).isEqualTo("カンマ, を含む");
+        assertThat(rows.get(1).description()).isEqualTo("複数行の\n説明と \"引用符\"");
+        assertThat(rows.get(1).completed()).isTrue();
+        assertThat(rows.get(2).lineNumber()).isEqualTo(6);
+        assertThat(rows.get(2).description()).isEmpty();
+    }
+
+    @Test
+    void shouldReportInvalidCsvCompletedValue() throws IOException {
+        // Given
+        String csv = "title,completed\nタスク1,yes\n";
+
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+        // Then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).parseError()).isEqualTo("completed must be true or false");
+    }
+
+    @Test
+    void shouldReportOverlongCsvRecordAndResumeAtNextLine() throws IOException {
+        // Given: 2行目の引用符が閉じられていない
+        String csv = "title,description\n"
+                + "タスク1,\"閉じられていない説明\n"
+                + "x".repeat(30) + "\n"
+                + "タスク3,説明3\n";
+
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.CSV, csv, 40);
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).lineNumber()).isEqualTo(2);
+        assertThat(rows.get(0).parseError()).isEqualTo("Record exceeds 40 characters");
+        assertThat(rows.get(1)).isEqualTo(new ImportRow(4, "タスク3", "説明3", false, null));
+    }
+
+    @Test
+    void shouldReportUnclosedQuoteAtEndOfCsv() throws IOException {
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.CSV, "title\n\"タスク1\n");
+
+        // Then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).parseError()).isEqualTo("Unclosed quote");
+    }
+
+    @Test
+    void shouldReportOverlongNdjsonLine() throws IOException {
+        // Given
+        String ndjson = "{\"title\":\"" + "x".repeat(100) + "\"}\n{\"title\":\"タスク2\"}\n";
+
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.NDJSON, ndjson, 50);
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).parseError()).isEqualTo("Line exceeds 50 characters");
+        assertThat(rows.get(1)).isEqualTo(new ImportRow(2, "タスク2", null, false, null));
+    }
+
+    @Test
+    void shouldReadNdjsonAndReportMalformedLines() throws IOException {
+        // Given
+        String ndjson = """
+                {"title":"タスク1","description":"説明1","completed":true}
+                {"title":
+                
+                [1,2]
+                {"title":"タスク2"}
+                """;
+
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.NDJSON, ndjson);
+
+        // Then
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0)).isEqualTo(new ImportRow(1, "タスク1", "説明1", true, null));
+        assertThat(rows.get(1).lineNumber()).isEqualTo(2);
+        assertThat(rows.get(1).parseError()).startsWith("Malformed JSON");
+        assertThat(rows.get(2).lineNumber()).isEqualTo(4);
+        assertThat(rows.get(2).parseError()).isEqualTo("Line is not a JSON object");
+        assertThat(rows.get(3)).isEqualTo(new ImportRow(5, "タスク2", null, false, null));
+    }
+
+    @Test
+    void shouldReportInvalidNdjsonCompletedValue() throws IOException {
+        // Given
+        String ndjson = """
+                {"title":"タスク1","completed":"yes"}
+                {"title":"タスク2","completed":1}
+                {"title":"タスク3","completed":null}
+                {"title":"タスク4","completed":true}
+                """;
+
+        // When
+        List<ImportRow> rows = readAll(ImportFormat.NDJSON, ndjson);
+
+        // Then
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0).parseError()).isEqualTo("completed must be true or false");
+        assertThat(rows.get(1).parseError()).isEqualTo("completed must be true or false");
+        assertThat(rows.get(2)).isEqualTo(new ImportRow(3, "タスク3", null, false, null));
+        assertThat(rows.get(3)).isEqualTo(new ImportRow(4, "タスク4", null, true, null));
+    }
+
+    private List<ImportRow> readAll(ImportFormat format, String content) throws IOException {
+        return readAll(format, content, 1000);
+    }
+
+    private List<ImportRow> readAll(ImportFormat format, String content, int maxRecordChars) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        try (RowReader reader = RowReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), new ObjectMapper(), maxRecordChars)) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
\ No newline at end of file
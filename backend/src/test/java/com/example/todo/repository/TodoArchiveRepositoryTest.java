@@ -0,0 +1,151 @@
+package com.example.todo.repository;
+
+import com.example.todo.model.Todo;
+import com.example.todo.model.TodoArchive;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class TodoArchiveRepositoryTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoArchiveRepository todoArchiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMoveCompletedTodosToArchive() {
+        // Given
+        todoRepository.deleteAll();
+        Todo completed = todoRepository.save(Todo.builder().title("完了タスク").completed(true).build());
+        Todo incomplete = todoRepository.save(Todo.builder().title("未完了タスク").completed(false).build());
+        todoRepository.flush();
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        // When
+        List<Long> ids = todoRepository.findArchivableIds(cutoff, PageRequest.of(0, 10));
+        int copied = todoArchiveRepository.copyFromTodo(ids, cutoff, LocalDateTime.now());
+        int deleted = todoRepository.deleteArchived(ids, cutoff);
+        todoArchiveRepository.deleteStillInTodo(ids);
+
+        // Then
+        assertThat(ids).containsExactly(completed.getId());
+        assertThat(copied).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(todoRepository.findAll()).extracting(Todo::getId).containsExactly(incomplete.getId());
+
+        List<TodoArchive> archived = todoArchiveRepository.findAll();
+        assertThat(archived).hasSize(1);
+        assertThat(archived.get(0).getId()).isEqualTo(completed.getId());
+        assertThat(archived.get(0).getTitle()).isEqualTo("完了タスク");
+        assertThat(archived.get(0).getArchivedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldNotArchiveTodoToggledAfterSelection() {
+        // Given
+        todoRepository.deleteAll();
+        Todo toggled = todoRepository.save(Todo.builder().title("選択後に未完了へ戻すタスク").completed(true).build());
+        Todo archived = todoRepository.save(Todo.builder().title("アーカイブされるタスク").completed(true).build());
+        todoRepository.flush();
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+        List<Long> ids = todoRepository.findArchivableIds(cutoff, PageRequest.of(0, 10));
+
+        // When: 選択とコピーの間にユーザーが未完了へ戻す
+        toggled.setCompleted(false);
+        todoRepository.saveAndFlush(toggled);
+        todoArchiveRepository.copyFromTodo(ids, cutoff, LocalDateTime.now());
+        todoRepository.deleteArchived(ids, cutoff);
+        todoArchiveRepository.deleteStillInTodo(ids);
+
+        // Then
+        assertThat(ids).containsExactlyInAnyOrder(toggled.getId(), archived.getId());
+        assertThat(todoRepository.findByCompletedOrderByUpdatedAtDesc(false))
+                .extracting(Todo::getId).containsExactly(toggled.getId());
+        assertThat(todoArchiveRepository.findAll()).extracting(TodoArchive::getId).containsExactly(archived.getId());
+    }
+
+    @Test
+    void shouldUndoArchiveCopyOfTodoToggledBeforeDelete() {
+        // Given
+        todoRepository.deleteAll();
+        Todo toggled = todoRepository.save(Todo.builder().title("コピー後に未完了へ戻すタスク").completed(true).build());
+        todoRepository.flush();
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+        List<Long> ids = todoRepository.findArchivableIds(cutoff, PageRequest.of(0, 10));
+        todoArchiveRepository.copyFromTodo(ids, cutoff, LocalDateTime.now());
+
+        // When: コピーと削除の間にユーザーが未完了へ戻す
+        toggled.setCompleted(false);
+        todoRepository.saveAndFlush(toggled);
+        int deleted = todoRepository.deleteArchived(ids, cutoff);
+        todoArchiveRepository.deleteStillInTodo(ids);
+
+        // Then
+        assertThat(deleted).isZero();
+        assertThat(todoRepository.findById(toggled.getId())).isPresent();
+        assertThat(todoArchiveRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void shouldFindOldestCompletedUpdatedAt() {
+        // Given
+        todoRepository.deleteAll();
+        todoRepository.save(Todo.builder().title("未完了タスク").completed(false).build());
+
+        // When & Then
+        assertThat(todoRepository.findOldestCompletedUpdatedAt()).isNull();
+
+        todoRepository.save(Todo.builder().title("完了タスク").completed(true).build());
+        todoRepository.flush();
+        assertThat(todoRepository.findOldestCompletedUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldPageTodosAndArchiveByUpdatedAtThenId() {
+        // Given: 一括取り込みのように同じ更新日時の行が両テーブルにまたがる
+        todoRepository.deleteAll();
+        LocalDateTime same = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(todoRepository.save(Todo.builder().title("同時刻" + i).completed(true).build()).getId());
+        }
+        todoRepository.flush();
+        jdbcTemplate.update("UPDATE todo SET updated_at = ?", same);
+        List<Long> archivedIds = ids.subList(0, 2);
+        todoArchiveRepository.copyFromTodo(archivedIds, same.plusSeconds(1), LocalDateTime.now());
+        todoRepository.deleteArchived(archivedIds, same.plusSeconds(1));
+        todoRepository.save(Todo.builder().title("未完了").completed(false).build());
+        todoRepository.flush();
+
+        // When
+        List<Todo> first = todoArchiveRepository.findPageIncludingArchived(true, 0, 3);
+        List<Todo> second = todoArchiveRepository.findPageIncludingArchived(true, 3, 3);
+
+        // Then: ページをまたいでも重複・欠落なくIDの降順に並ぶ
+        List<Long> expected = new ArrayList<>(ids);
+        Collections.reverse(expected);
+        assertThat(first).extracting(Todo::getId).containsExactlyElementsOf(expected.subList(0, 3));
+        assertThat(second).extracting(Todo::getId).containsExactlyElementsOf(expected.subList(3, 5));
+        assertThat(second).filteredOn(todo -> archivedIds.contains(todo.getId()))
+                .allSatisfy(todo -> assertThat(todo.getVersion()).isNull());
+        assertThat(todoArchiveRepository.findPageIncludingArchived(false, 0, 10))
+                .extracting(Todo::getTitle).containsExactly("未完了");
+    }
+}
\ No newline at end of file
@@ -89,4 +89,21 @@ public class TodoRepositoryTest {
         // Then
         assertThat(allTodos).hasSize(3);
     }
+
+    @Test
+    void shouldDeleteRegardlessOfVersion() {
+        // Given: 他のリクエストの更新で版が進んでいる
+        Todo todo = todoRepository.saveAndFlush(Todo.builder().title("削除対象").completed(false).build());
+        todo.setCompleted(true);
+        todoRepository.saveAndFlush(todo);
+
+        // When
+        int deleted = todoRepository.deleteByIdIgnoringVersion(todo.getId());
+        int missing = todoRepository.deleteByIdIgnoringVersion(todo.getId());
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(todoRepository.existsById(todo.getId())).isFalse();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.example.todo.service;
+
+import com.example.todo.repository.TodoArchiveRepository;
+import com.example.todo.repository.TodoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoArchiveServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 31, 0, 0);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoArchiveRepository todoArchiveRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TodoArchiveService todoArchiveService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        todoArchiveService = new TodoArchiveService(todoRepository, todoArchiveRepository, transactionTemplate,
+                meterRegistry, clock, true, Duration.ofDays(30), 2, Duration.ZERO, 10);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void shouldMoveArchivableTodosInBatches() {
+        // Given
+        LocalDateTime cutoff = NOW.minusDays(30);
+        when(todoRepository.findArchivableIds(eq(cutoff), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(todoRepository.deleteArchived(List.of(1L, 2L), cutoff)).thenReturn(2);
+        when(todoRepository.deleteArchived(List.of(3L), cutoff)).thenReturn(1);
+
+        // When
+        int moved = todoArchiveService.archiveCompletedTodos();
+
+        // Then
+        assertThat(moved).isEqualTo(3);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(todoArchiveRepository).copyFromTodo(List.of(1L, 2L), cutoff, NOW);
+        verify(todoArchiveRepository).copyFromTodo(List.of(3L), cutoff, NOW);
+        verify(todoArchiveRepository).deleteStillInTodo(List.of(1L, 2L));
+        verify(todoArchiveRepository).deleteStillInTodo(List.of(3L));
+        assertThat(meterRegistry.get("todo.archive.rows.moved").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldStopAfterMaxBatchesPerRun() {
+        // Given
+        TodoArchiveService limited = new TodoArchiveService(todoRepository, todoArchiveRepository, transactionTemplate,
+                new SimpleMeterRegistry(), Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), true, Duration.ofDays(30), 2,
+                Duration.ZERO, 3);
+        when(todoRepository.findArchivableIds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(todoRepository.deleteArchived(any(), any(LocalDateTime.class))).thenReturn(2);
+
+        // When
+        int moved = limited.archiveCompletedTodos();
+
+        // Then
+        assertThat(moved).isEqualTo(6);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void shouldReportLagOfOldestArchivableTodo() {
+        // Given
+        when(todoRepository.findArchivableIds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+        when(todoRepository.findOldestCompletedUpdatedAt()).thenReturn(NOW.minusDays(30).minusHours(1));
+
+        // When
+        todoArchiveService.archiveCompletedTodos();
+
+        // Then
+        assertThat(todoArchiveService.getLagSeconds()).isEqualTo(3600);
+        assertThat(meterRegistry.get("todo.archive.lag.seconds").gauge().value()).isEqualTo(3600.0);
+        verify(todoArchiveRepository, never()).copyFromTodo(any(), any(), any());
+    }
+
+    @Test
+    void shouldSkipScheduledRunWhenDisabled() {
+        // Given
+        TodoArchiveService disabled = new TodoArchiveService(todoRepository, todoArchiveRepository, transactionTemplate,
+                new SimpleMeterRegistry(), Clock.systemUTC(), false, Duration.ofDays(30), 2, Duration.ZERO, 10);
+
+        // When
+        disabled.scheduledArchive();
+
+        // Then
+        verifyNoInteractions(transactionTemplate, todoRepository, todoArchiveRepository);
+    }
+}
\ No newline at end of file
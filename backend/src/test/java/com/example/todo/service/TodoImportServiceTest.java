@@ -0,0 +1,296 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.ImportJobDto;
+import com.example.todo.exception.ImportJobRunningException;
+import com.example.todo.model.ImportFormat;
+import com.example.todo.model.ImportJob;
+import com.example.todo.model.ImportJobChunk;
+import com.example.todo.model.ImportJobStatus;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.ImportJobChunkRepository;
+import com.example.todo.repository.ImportJobErrorRepository;
+import com.example.todo.repository.ImportJobRepository;
+import com.example.todo.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TodoImportServiceTest {
+
+    private static final String CSV = """
+            title,description,completed
+            取り込み1,説明1,false
+            取り込み2,,true
+            ,タイトルなし,false
+            取り込み4,説明4,false
+            取り込み5,説明5,true
+            """;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobChunkRepository importJobChunkRepository;
+
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+
+    private TodoImportService todoImportService;
+
+    @BeforeEach
+    void setup() {
+        todoRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(2);
+        todoImportService = new TodoImportService(importJobRepository, importJobChunkRepository,
+                importJobErrorRepository, jdbcTemplate, transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), executor,
+                2, 1000000, 2, 1000, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldImportValidRowsAndReportInvalidOnes() throws Exception {
+        // When
+        ImportJobDto started = todoImportService.startImport(null, ImportFormat.CSV, stream(CSV));
+        ImportJobDto job = awaitCompletion(started.getId());
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getTotalRows()).isEqualTo(5);
+        assertThat(job.getImportedRows()).isEqualTo(4);
+        assertThat(job.getFailedRows()).isEqualTo(1);
+        assertThat(job.getErrors()).hasSize(1);
+        assertThat(job.getErrors().get(0).getLine()).isEqualTo(4);
+        assertThat(job.getErrors().get(0).getMessage()).isEqualTo("Title is required");
+
+        List<Todo> todos = todoRepository.findAll();
+        assertThat(todos).extracting(Todo::getTitle)
+                .containsExactlyInAnyOrder("取り込み1", "取り込み2", "取り込み4", "取り込み5");
+        assertThat(todos).allSatisfy(todo -> {
+            assertThat(todo.getVersion()).isZero();
+            assertThat(todo.getCreatedAt()).isNotNull();
+        });
+        assertThat(importJobChunkRepository.findCompletedChunkIndexes(job.getId())).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    void shouldSplitChunkWhenCharacterBudgetIsReached() throws Exception {
+        // Given: 行数では区切らず、10文字を超えた時点で区切る
+        TodoImportService service = new TodoImportService(importJobRepository, importJobChunkRepository,
+                importJobErrorRepository, jdbcTemplate, transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), executor,
+                1000, 10, 2, 1000, Duration.ofMinutes(5));
+
+        // When
+        service.startImport("chars-job", ImportFormat.CSV, stream(CSV));
+        ImportJobDto job = awaitCompletion("chars-job");
+
+        // Then: 1〜2行目、3〜4行目、5行目の3チャンクに分かれる
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getImportedRows()).isEqualTo(4);
+        assertThat(importJobChunkRepository.findCompletedChunkIndexes("chars-job")).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    void shouldResumeFailedJobSkippingCompletedChunks() throws Exception {
+        // Given: 1つ目のチャンク（1〜2行目）まで取り込んだところで失敗したジョブ
+        String jobId = "resume-job";
+        importJobRepository.save(ImportJob.builder()
+                .id(jobId)
+                .format(ImportFormat.CSV)
+                .status(ImportJobStatus.FAILED)
+                .chunkSize(2)
+                .importedRows(2)
+                .message("Upload interrupted")
+                .updatedAt(LocalDateTime.now())
+                .build());
+        importJobChunkRepository.save(ImportJobChunk.builder()
+                .jobId(jobId)
+                .chunkIndex(0)
+                .importedRows(2)
+                .completedAt(LocalDateTime.now())
+                .build());
+
+        // When
+        todoImportService.startImport(jobId, ImportFormat.CSV, stream(CSV));
+        ImportJobDto job = awaitCompletion(jobId);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getMessage()).isNull();
+        assertThat(job.getImportedRows()).isEqualTo(4);
+        assertThat(job.getFailedRows()).isEqualTo(1);
+        assertThat(todoRepository.findAll()).extracting(Todo::getTitle)
+                .containsExactlyInAnyOrder("取り込み4", "取り込み5");
+    }
+
+    @Test
+    void shouldRejectResumingRunningJob() {
+        // Given
+        importJobRepository.save(ImportJob.builder()
+                .id("running-job")
+                .format(ImportFormat.NDJSON)
+                .status(ImportJobStatus.RUNNING)
+                .chunkSize(2)
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        // When & Then
+        assertThatThrownBy(() -> todoImportService.startImport("running-job", ImportFormat.NDJSON, stream("")))
+                .isInstanceOf(ImportJobRunningException.class);
+    }
+
+    @Test
+    void shouldCreateJobUnderClientSuppliedId() throws Exception {
+        // When
+        ImportJobDto started = todoImportService.startImport("client-job", ImportFormat.CSV, stream(CSV));
+        ImportJobDto job = awaitCompletion("client-job");
+
+        // Then
+        assertThat(started.getId()).isEqualTo("client-job");
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getImportedRows()).isEqualTo(4);
+        assertThat(todoImportService.getJob("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldResumeUploadInterruptedMidStreamWithSameId() throws Exception {
+        // Given: 1つ目のチャンク（2行）を送った直後に接続が切れる
+        String jobId = "interrupted-job";
+        String csv = """
+                title,description,completed
+                中断1,,false
+                中断2,,false
+                中断3,,true
+                中断4,,false
+                """;
+        int cut = csv.indexOf("中断3");
+        todoImportService.startImport(jobId, ImportFormat.CSV, interruptedStream(csv.substring(0, cut)));
+        ImportJobDto failed = awaitCompletion(jobId);
+        assertThat(failed.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(failed.getMessage()).startsWith("Upload interrupted");
+        assertThat(failed.getImportedRows()).isEqualTo(2);
+
+        // When: 同じIDで最初から再アップロードする
+        todoImportService.startImport(jobId, ImportFormat.CSV, stream(csv));
+        ImportJobDto job = awaitCompletion(jobId);
+
+        // Then: 取り込み済みのチャンクは読み飛ばされ、各行が1回だけ取り込まれる
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getImportedRows()).isEqualTo(4);
+        assertThat(todoRepository.findAll()).extracting(Todo::getTitle)
+                .containsExactlyInAnyOrder("中断1", "中断2", "中断3", "中断4");
+    }
+
+    @Test
+    void shouldRollBackChunkAlreadyRecordedByAnotherUpload() throws Exception {
+        // Given: 読み込みを始めた後に、別のアップロードが2つ目のチャンク（3〜4行目）を記録する
+        String jobId = "duplicate-chunk-job";
+        InputStream body = new FilterInputStream(stream(CSV)) {
+            private boolean recorded;
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (!recorded) {
+                    recorded = true;
+                    jdbcTemplate.update("INSERT INTO import_job_chunk (job_id, chunk_index, imported_rows, failed_rows) "
+                            + "VALUES (?, 1, 1, 1)", jobId);
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        // When
+        todoImportService.startImport(jobId, ImportFormat.CSV, body);
+        ImportJobDto job = awaitCompletion(jobId);
+
+        // Then: 記録済みのチャンクは上書きせず、そのチャンクのTodoも挿入されない
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getMessage()).startsWith("Chunk 1 failed");
+        assertThat(todoRepository.findAll()).extracting(Todo::getTitle)
+                .containsExactlyInAnyOrder("取り込み1", "取り込み2", "取り込み5");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT imported_rows FROM import_job_chunk WHERE job_id = ? AND chunk_index = 1", Integer.class, jobId))
+                .isEqualTo(1);
+    }
+
+    private ImportJobDto awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImportJobDto job = todoImportService.getJob(jobId).orElseThrow();
+        while (job.getStatus() == ImportJobStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = todoImportService.getJob(jobId).orElseThrow();
+        }
+        return job;
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 渡した内容を返した後、次の読み込みでIOExceptionを送出する（クライアントの切断を模擬）
+    private InputStream interruptedStream(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (position >= bytes.length) {
+                    throw new IOException("Connection reset by peer");
+                }
+                int count = Math.min(length, bytes.length - position);
+                System.arraycopy(bytes, position, buffer, offset, count);
+                position += count;
+                return count;
+            }
+        };
+    }
+}
\ No newline at end of file
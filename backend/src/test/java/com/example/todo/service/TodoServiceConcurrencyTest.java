@@ -0,0 +1,159 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.TodoConflictException;
+import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 同一Todoへの並行トグルで更新が失われないことを検証し、楽観ロック導入前の実装と失われた更新数・スループットを比較する。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TodoService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TodoServiceConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoServiceConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+    private static final int TOGGLES_PER_THREAD = 50;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void shouldNotLoseConcurrentTogglesUnlikeUnversionedBaseline() throws Exception {
+        // Given
+        Long optimisticId = todoRepository.save(Todo.builder().title("並行トグル").completed(false).build()).getId();
+        Long baselineId = todoRepository.save(Todo.builder().title("比較用トグル").completed(false).build()).getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        Result optimistic = run(optimisticId, () -> {
+            try {
+                todoService.toggleTodoCompleted(optimisticId);
+                return true;
+            } catch (TodoConflictException e) {
+                return false;
+            }
+        });
+        Result baseline = run(baselineId, () -> {
+            unversionedToggle(transactionTemplate, baselineId);
+            return true;
+        });
+
+        // Then
+        assertThat(optimistic.applied() + optimistic.conflicted()).isEqualTo(THREADS * TOGGLES_PER_THREAD);
+        assertThat(optimistic.applied()).isPositive();
+        // 成功したトグルはすべて1回ずつ版を進め、完了状態にも反映されている
+        assertThat(optimistic.lost()).isZero();
+        assertThat(todoRepository.findById(optimisticId).orElseThrow().isCompleted())
+                .isEqualTo(optimistic.applied() % 2 == 1);
+
+        // 導入前の実装はすべて成功を返すが、同じ版を読んだ書き込み同士で上書きが起きうる
+        assertThat(baseline.applied()).isEqualTo(THREADS * TOGGLES_PER_THREAD);
+        assertThat(baseline.lost()).isBetween(0L, (long) baseline.applied() - 1);
+
+        logger.info("Concurrent toggles ({} threads x {}): optimistic {} applied / {} conflicted / {} lost / {} ops/s,"
+                        + " unversioned {} applied / {} lost / {} ops/s",
+                THREADS, TOGGLES_PER_THREAD,
+                optimistic.applied(), optimistic.conflicted(), optimistic.lost(), optimistic.opsPerSecond(),
+                baseline.applied(), baseline.lost(), baseline.opsPerSecond());
+    }
+
+    /**
+     * 楽観ロック導入前の toggleTodoCompleted と同じ読み込み→反転→書き込み。
+     * 書き込み時に版を検査しないため、同じ版を読んだ更新は最後の書き込みが勝ち、版も1つしか進まない。
+     */
+    private void unversionedToggle(TransactionTemplate transactionTemplate, Long id) {
+        Todo todo = todoRepository.findById(id).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Todo t SET t.completed = :completed, t.version = :version WHERE t.id = :id")
+                .setParameter("completed", !todo.isCompleted())
+                .setParameter("version", todo.getVersion() + 1)
+                .setParameter("id", id)
+                .executeUpdate());
+    }
+
+    private Result run(Long id, BooleanSupplier toggle) throws Exception {
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        long elapsedNanos = runConcurrently(() -> {
+            if (toggle.getAsBoolean()) {
+                applied.incrementAndGet();
+            } else {
+                conflicted.incrementAndGet();
+            }
+        });
+        long finalVersion = todoRepository.findById(id).orElseThrow().getVersion();
+        return new Result(applied.get(), conflicted.get(), applied.get() - finalVersion,
+                opsPerSecond(applied.get(), elapsedNanos));
+    }
+
+    private long runConcurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < TOGGLES_PER_THREAD; j++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long opsPerSecond(int operations, long elapsedNanos) {
+        return operations * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+    }
+
+    // lost: 成功として返したのに版に反映されなかった更新の数
+    private record Result(int applied, int conflicted, long lost, long opsPerSecond) {
+    }
+}
\ No newline at end of file
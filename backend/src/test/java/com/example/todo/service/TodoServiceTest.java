@@ -1,6 +1,8 @@
 package com.example.todo.service;
 
+import com.example.todo.exception.TodoConflictException;
 import com.example.todo.model.Todo;
+import com.example.todo.repository.TodoArchiveRepository;
 import com.example.todo.repository.TodoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,12 +10,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -24,6 +29,9 @@ public class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private TodoArchiveRepository todoArchiveRepository;
+
     @InjectMocks
     private TodoService todoService;
 
@@ -74,6 +82,38 @@ public class TodoServiceTest {
         verify(todoRepository).findByCompletedOrderByUpdatedAtDesc(true);
     }
 
+    @Test
+    void shouldGetAllTodosIncludingArchived() {
+        // Given
+        Todo archived = Todo.builder().id(10L).title("アーカイブ済みタスク").completed(true).build();
+        when(todoArchiveRepository.findPageIncludingArchived(null, 20L, 10)).thenReturn(List.of(todo2, archived));
+
+        // When
+        List<Todo> result = todoService.getAllTodosIncludingArchived(2, 10);
+
+        // Then
+        assertThat(result).containsExactly(todo2, archived);
+    }
+
+    @Test
+    void shouldClampPageSizeWhenIncludingArchived() {
+        // When
+        todoService.getTodosByCompletedIncludingArchived(true, 1, 10_000);
+
+        // Then
+        verify(todoArchiveRepository).findPageIncludingArchived(true, TodoService.MAX_PAGE_SIZE, TodoService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void shouldRejectPagesBeyondMaximumOffset() {
+        // When & Then
+        assertThatThrownBy(() -> todoService.getAllTodosIncludingArchived(Integer.MAX_VALUE, 500))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> todoService.getAllTodosIncludingArchived(-1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(todoArchiveRepository);
+    }
+
     @Test
     void shouldGetTodoById() {
         // Given
@@ -159,31 +199,95 @@ public class TodoServiceTest {
     }
 
     @Test
-    void shouldDeleteTodo() {
+    void shouldRejectUpdateBasedOnStaleVersion() {
+        // Given
+        todo1.setVersion(3L);
+        Todo staleTodo = Todo.builder()
+                .title("古い版からの更新")
+                .completed(true)
+                .version(2L)
+                .build();
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo1));
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.updateTodo(1L, staleTodo))
+                .isInstanceOf(TodoConflictException.class)
+                .extracting(e -> ((TodoConflictException) e).getCurrent().getTitle())
+                .isEqualTo("テストタスク1");
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    @Test
+    void shouldReturnConflictWhenConcurrentUpdateDetected() {
         // Given
+        Todo updatedTodo = Todo.builder().title("更新されたタスク").build();
         when(todoRepository.findById(1L)).thenReturn(Optional.of(todo1));
-        doNothing().when(todoRepository).delete(any(Todo.class));
+        when(todoRepository.save(any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.updateTodo(1L, updatedTodo))
+                .isInstanceOf(TodoConflictException.class);
+        verify(todoRepository, times(1)).save(any(Todo.class));
+    }
+
+    @Test
+    void shouldRetryToggleOnOptimisticLockConflict() {
+        // Given
+        when(todoRepository.findById(1L)).thenAnswer(invocation -> Optional.of(Todo.builder()
+                .id(1L)
+                .title("テストタスク1")
+                .completed(false)
+                .build()));
+        when(todoRepository.save(any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<Todo> result = todoService.toggleTodoCompleted(1L);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().isCompleted()).isTrue();
+        verify(todoRepository, times(2)).save(any(Todo.class));
+    }
+
+    @Test
+    void shouldGiveUpToggleAfterMaxAttempts() {
+        // Given
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo1));
+        when(todoRepository.save(any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> todoService.toggleTodoCompleted(1L))
+                .isInstanceOf(TodoConflictException.class);
+        verify(todoRepository, times(TodoService.MAX_TOGGLE_ATTEMPTS)).save(any(Todo.class));
+    }
+
+    @Test
+    void shouldDeleteTodo() {
+        // Given
+        when(todoRepository.deleteByIdIgnoringVersion(1L)).thenReturn(1);
 
         // When
         boolean result = todoService.deleteTodo(1L);
 
         // Then
         assertThat(result).isTrue();
-        verify(todoRepository).findById(1L);
-        verify(todoRepository).delete(any(Todo.class));
+        verify(todoRepository).deleteByIdIgnoringVersion(1L);
     }
 
     @Test
     void shouldReturnFalseWhenDeleteNonExistingTodo() {
         // Given
-        when(todoRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(todoRepository.deleteByIdIgnoringVersion(anyLong())).thenReturn(0);
 
         // When
         boolean result = todoService.deleteTodo(999L);
 
         // Then
         assertThat(result).isFalse();
-        verify(todoRepository).findById(999L);
-        verify(todoRepository, never()).delete(any(Todo.class));
+        verify(todoRepository).deleteByIdIgnoringVersion(999L);
     }
 }
\ No newline at end of file
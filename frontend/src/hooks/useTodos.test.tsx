@@ -163,6 +163,38 @@ describe("useTodos Hook", () => {
     expect(TodoService.toggleCompleted).toHaveBeenCalledWith(1);
   });
 
+  test("replaces the todo with the latest version on conflict", async () => {
+    const latest = {
+      id: 1,
+      title: "他の画面で更新されたタスク",
+      description: "説明1",
+      completed: true,
+      version: 2
+    };
+    // 409の応答に最新のタスクが含まれる
+    (TodoService.update as jest.Mock).mockRejectedValue({
+      isAxiosError: true,
+      response: { status: 409, data: latest }
+    });
+    
+    const { result } = renderHook(() => useTodos());
+    
+    // データ取得が完了するまで待機
+    await waitFor(() => {
+      expect(result.current.loading).toBe(false);
+    });
+    
+    // 古い版で更新する
+    await act(async () => {
+      const success = await result.current.updateTodo(1, { ...mockTodos[0], title: "古い版からの更新", version: 1 });
+      expect(success).toBe(false);
+    });
+    
+    // 最新のタスクに置き換わり、競合のメッセージが表示されることを確認
+    expect(result.current.todos.find(t => t.id === 1)).toEqual(latest);
+    expect(result.current.error).toBe("他の操作でタスクが更新されていました。最新の内容を表示しています。");
+  });
+
   test("handles API errors", async () => {
     // getAll メソッドでエラーが発生するようにモック
     (TodoService.getAll as jest.Mock).mockRejectedValue(new Error("API error"));
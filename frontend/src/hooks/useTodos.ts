@@ -1,4 +1,5 @@
 import { useState, useEffect } from "react";
+import axios from "axios";
 import { Todo } from "../types/Todo";
 import { TodoService } from "../services/TodoService";
 
@@ -7,6 +8,17 @@ export const useTodos = () => {
   const [loading, setLoading] = useState<boolean>(true);
   const [error, setError] = useState<string | null>(null);
 
+  // 他の操作で先に更新されていた場合（409）、応答に含まれる最新のタスクで置き換える
+  const handleConflict = (id: number, err: unknown) => {
+    if (axios.isAxiosError(err) && err.response?.status === 409 && err.response.data) {
+      const latest: Todo = err.response.data;
+      setTodos(todos.map(t => t.id === id ? latest : t));
+      setError("他の操作でタスクが更新されていました。最新の内容を表示しています。");
+      return true;
+    }
+    return false;
+  };
+
   const fetchTodos = async () => {
     setLoading(true);
     try {
@@ -39,6 +51,9 @@ export const useTodos = () => {
       setTodos(todos.map(t => t.id === id ? updatedTodo : t));
       return true;
     } catch (err) {
+      if (handleConflict(id, err)) {
+        return false;
+      }
       setError("タスクの更新中にエラーが発生しました。");
       console.error(err);
       return false;
@@ -63,6 +78,9 @@ export const useTodos = () => {
       setTodos(todos.map(t => t.id === id ? updatedTodo : t));
       return true;
     } catch (err) {
+      if (handleConflict(id, err)) {
+        return false;
+      }
       setError("タスクの状態更新中にエラーが発生しました。");
       console.error(err);
       return false;